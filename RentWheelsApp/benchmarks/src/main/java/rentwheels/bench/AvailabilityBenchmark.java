@@ -0,0 +1,77 @@
+package rentwheels.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rentwheels.AvailabilityIndex;
+import rentwheels.Car;
+import rentwheels.CarCatalog;
+import rentwheels.CarQuery;
+import rentwheels.Reservation;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Fleet-wide date-range queries through CarCatalog and AvailabilityIndex on a dense calendar; needs no database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityBenchmark {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+    private static final int BOOKINGS_PER_CAR = 50;
+
+    @Param({"100", "1000", "10000"})
+    public int cars;
+
+    private CarCatalog catalog;
+    private AvailabilityIndex availability;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        availability = new AvailabilityIndex();
+        Random random = new Random(42);
+        List<Car> fleet = new ArrayList<>(cars);
+        long reservationId = 1;
+        for (int car = 1; car <= cars; car++) {
+            fleet.add(new Car(car, "Bench Car " + car, 500_000, "5 Seats", "Automatic", "Petrol", "Available",
+                    "default_car.jpg"));
+            List<Reservation> bookings = new ArrayList<>(BOOKINGS_PER_CAR);
+            for (int i = 0; i < BOOKINGS_PER_CAR; i++) {
+                LocalDate start = FIRST_DAY.plusDays(i * 7L + random.nextInt(3));
+                bookings.add(new Reservation(reservationId++, car, "Bench Car " + car, start,
+                        start.plusDays(1 + random.nextInt(4)), 500_000, "Upcoming", "User " + i));
+            }
+            availability.replaceCar(car, bookings);
+        }
+        catalog = new CarCatalog(fleet, availability);
+    }
+
+    @Benchmark
+    public List<Car> freeCars() {
+        LocalDate start = FIRST_DAY.plusDays(ThreadLocalRandom.current().nextInt(BOOKINGS_PER_CAR * 7));
+        return catalog.filter(new CarQuery(null, null, null, null, null, start, start.plusDays(3)));
+    }
+
+    @Benchmark
+    public boolean isFree() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate start = FIRST_DAY.plusDays(random.nextInt(BOOKINGS_PER_CAR * 7));
+        return availability.isFree(random.nextInt(cars) + 1, start, start.plusDays(3));
+    }
+}
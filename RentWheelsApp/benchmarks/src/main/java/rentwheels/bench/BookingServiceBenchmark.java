@@ -0,0 +1,96 @@
+package rentwheels.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import rentwheels.BookingHttpServer;
+import rentwheels.BookingResult;
+import rentwheels.BookingService;
+import rentwheels.Car;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bookings per second from eight terminals, straight through BookingService and over the HTTP API
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class BookingServiceBenchmark {
+    private static final LocalDate FIRST_BOOKING_DAY = LocalDate.of(2030, 1, 1);
+    private final AtomicLong bookings = new AtomicLong();
+
+    private BookingService service;
+    private BookingHttpServer server;
+    private HttpClient client;
+    private URI bookingsUri;
+    private List<Car> fleet;
+
+    @Setup(Level.Trial)
+    public void start(SeededDatabase seeded) throws IOException {
+        service = new BookingService(seeded.db);
+        fleet = service.getCars();
+        server = new BookingHttpServer(service, "127.0.0.1", 0);
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        bookingsUri = URI.create("http://127.0.0.1:" + server.getPort() + "/api/bookings");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        server.stop();
+    }
+
+    @Benchmark
+    public BookingResult book() {
+        long n = bookings.getAndIncrement();
+        Car car = fleet.get((int) (n % fleet.size()));
+        LocalDate start = slotStart(n);
+        BookingResult result = service.book(car, "Bench Terminal", start, start.plusDays(2),
+                BookingService.DEFAULT_PAYMENT_METHOD);
+        if (!result.isBooked()) {
+            throw new IllegalStateException(result.getMessage());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String postBooking() throws IOException, InterruptedException {
+        long n = bookings.getAndIncrement();
+        Car car = fleet.get((int) (n % fleet.size()));
+        LocalDate start = slotStart(n);
+        String body = "{\"carId\":" + car.getId() + ",\"customerName\":\"Bench Terminal\",\"from\":\"" + start
+                + "\",\"to\":\"" + start.plusDays(2) + "\"}";
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(bookingsUri).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException(response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    private LocalDate slotStart(long n) {
+        return FIRST_BOOKING_DAY.plusDays(3 * (n / fleet.size()));
+    }
+}
@@ -0,0 +1,82 @@
+package rentwheels.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import rentwheels.BookingResult;
+import rentwheels.Car;
+import rentwheels.Invoice;
+import rentwheels.Reservation;
+import rentwheels.User;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sampled latency of the DatabaseManager calls behind login, the car grid, My Reservations and booking
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseManagerBenchmark {
+    // Every booking gets its own date range, so bookings never overlap however many run
+    private static final LocalDate FIRST_BOOKING_DAY = LocalDate.of(2030, 1, 1);
+    private static final AtomicLong bookings = new AtomicLong();
+
+    @Benchmark
+    public User authenticateUser(SeededDatabase seeded) {
+        int user = ThreadLocalRandom.current().nextInt(seeded.users);
+        return seeded.db.authenticateUser(DatabaseSeeder.username(user), DatabaseSeeder.password(user));
+    }
+
+    @Benchmark
+    public boolean insertReservation(SeededDatabase seeded) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int car = random.nextInt(seeded.cars);
+        LocalDate start = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365));
+        Reservation reservation = new Reservation(car + 1, "Bench Car " + car, start, start.plusDays(3), 1_500_000,
+                "Completed", "User " + random.nextInt(seeded.users));
+        return seeded.db.insertReservation(reservation);
+    }
+
+    @Benchmark
+    public List<Car> getAllCars(SeededDatabase seeded) {
+        return seeded.db.getAllCars();
+    }
+
+    @Benchmark
+    public List<Reservation> getUserReservations(SeededDatabase seeded) {
+        return seeded.db.getUserReservations("User " + ThreadLocalRandom.current().nextInt(seeded.users));
+    }
+
+    @Benchmark
+    public Invoice getInvoiceByReservation(SeededDatabase seeded) {
+        return seeded.db.getInvoiceByReservation(ThreadLocalRandom.current().nextInt(seeded.rows) + 1);
+    }
+
+    // The Confirm Payment path: car row lock, overlap check, reservation and numbered invoice in one transaction
+    @Benchmark
+    public BookingResult bookCar(SeededDatabase seeded) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int car = random.nextInt(seeded.cars);
+        int user = random.nextInt(seeded.users);
+        LocalDate start = FIRST_BOOKING_DAY.plusDays(3 * bookings.getAndIncrement());
+        LocalDate end = start.plusDays(2);
+        Reservation reservation = new Reservation(car + 1, "Bench Car " + car, start, end, 1_000_000, "Upcoming",
+                "User " + user);
+        Invoice invoice = new Invoice(null, "Bench Car " + car, start + " - " + end, 1_000_000, start.toString(),
+                "User " + user, "Cash on Return");
+        BookingResult result = seeded.db.bookCar(reservation, invoice);
+        if (!result.isBooked()) {
+            throw new IllegalStateException(result.getMessage());
+        }
+        return result;
+    }
+}
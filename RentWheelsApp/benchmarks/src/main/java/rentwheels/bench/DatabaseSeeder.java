@@ -0,0 +1,153 @@
+package rentwheels.bench;
+
+import rentwheels.SchemaMigrator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+// Builds each seeded SQLite size once under java.io.tmpdir; benchmark trials work on fresh copies
+final class DatabaseSeeder {
+    // Bump when the seeded data changes so stale templates are rebuilt
+    private static final int SEED_VERSION = 1;
+    private static final int BATCH_SIZE = 10_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final String[] TRANSMISSIONS = {"Automatic", "Manual"};
+    private static final String[] FUELS = {"Petrol", "Diesel", "Hybrid", "Electric"};
+
+    private DatabaseSeeder() {
+    }
+
+    static int userCount(int rows) {
+        return Math.max(10, rows / 10);
+    }
+
+    static int carCount(int rows) {
+        return Math.max(27, rows / 100);
+    }
+
+    static String username(int user) {
+        return "user" + user;
+    }
+
+    static String password(int user) {
+        return "pw" + user;
+    }
+
+    // Copies the template for this size to a new temp file, building the template if needed
+    static Path freshCopy(int rows) throws IOException, SQLException {
+        Path template = Path.of(System.getProperty("java.io.tmpdir"), "rentwheels-bench-v" + SchemaMigrator.latestVersion()
+                + "." + SEED_VERSION + "-" + rows + ".db");
+        if (!Files.exists(template)) {
+            Path partial = Files.createTempFile("rentwheels-bench-seed", ".db");
+            seed(partial, rows);
+            Files.move(partial, template, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Path copy = Files.createTempFile("rentwheels-bench", ".db");
+        Files.copy(template, copy, StandardCopyOption.REPLACE_EXISTING);
+        return copy;
+    }
+
+    private static void seed(Path file, int rows) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file)) {
+            new SchemaMigrator().migrate(connection);
+            connection.setAutoCommit(false);
+            seedUsers(connection, userCount(rows));
+            seedCars(connection, carCount(rows));
+            seedReservationsAndInvoices(connection, rows);
+            connection.commit();
+            connection.setAutoCommit(true);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("ANALYZE");
+            }
+        }
+        System.out.println("✓ Seeded " + rows + " rows into " + file + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private static void seedUsers(Connection connection, int users) throws SQLException {
+        String sql = "INSERT INTO users (name, email, username, password, created_date) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < users; i++) {
+                pstmt.setString(1, "User " + i);
+                pstmt.setString(2, username(i) + "@bench.rentwheels.com");
+                pstmt.setString(3, username(i));
+                pstmt.setString(4, password(i));
+                pstmt.setString(5, FIRST_DAY.plusDays(i % 1500).toString());
+                addToBatch(pstmt, i);
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private static void seedCars(Connection connection, int cars) throws SQLException {
+        String sql = "INSERT INTO cars (name, price_paise, seats, transmission, fuel_type, status, image_path) VALUES (?, ?, ?, ?, ?, 'Available', 'default_car.jpg')";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < cars; i++) {
+                pstmt.setString(1, "Bench Car " + i);
+                pstmt.setLong(2, 500_000 + (i % 200) * 10_000L);
+                pstmt.setString(3, (2 + i % 6) + " Seats");
+                pstmt.setString(4, TRANSMISSIONS[i % TRANSMISSIONS.length]);
+                pstmt.setString(5, FUELS[i % FUELS.length]);
+                addToBatch(pstmt, i);
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    // Reservation i belongs to user i % users and car i % cars, so car and user ids are i % n + 1
+    private static void seedReservationsAndInvoices(Connection connection, int rows) throws SQLException {
+        int users = userCount(rows);
+        int cars = carCount(rows);
+        String reservationSql = "INSERT INTO reservations (id, car_id, car_name, customer_name, start_date, end_date, total_cost_paise, status, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, 'Completed', ?)";
+        String invoiceSql = "INSERT INTO invoices (invoice_id, reservation_id, car_name, rental_period, total_paise, issue_date, customer_name, payment_method, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, 'Cash on Return', ?)";
+        try (PreparedStatement reservation = connection.prepareStatement(reservationSql);
+                PreparedStatement invoice = connection.prepareStatement(invoiceSql)) {
+            for (int i = 0; i < rows; i++) {
+                int car = i % cars;
+                String customer = "User " + (i % users);
+                LocalDate startDate = FIRST_DAY.plusDays(i % 2000);
+                LocalDate endDate = startDate.plusDays(1 + i % 7);
+                long total = 500_000L * (1 + i % 7);
+
+                reservation.setLong(1, i + 1);
+                reservation.setLong(2, car + 1);
+                reservation.setString(3, "Bench Car " + car);
+                reservation.setString(4, customer);
+                reservation.setDate(5, Date.valueOf(startDate));
+                reservation.setDate(6, Date.valueOf(endDate));
+                reservation.setLong(7, total);
+                reservation.setString(8, startDate.toString());
+                addToBatch(reservation, i);
+
+                invoice.setString(1, "INV-BENCH-" + (i + 1));
+                invoice.setLong(2, i + 1);
+                invoice.setString(3, "Bench Car " + car);
+                invoice.setString(4, startDate + " - " + endDate);
+                invoice.setLong(5, total);
+                invoice.setString(6, startDate.toString());
+                invoice.setString(7, customer);
+                invoice.setString(8, startDate.toString());
+                addToBatch(invoice, i);
+            }
+            reservation.executeBatch();
+            invoice.executeBatch();
+        }
+    }
+
+    private static void addToBatch(PreparedStatement pstmt, int row) throws SQLException {
+        pstmt.addBatch();
+        if ((row + 1) % BATCH_SIZE == 0) {
+            pstmt.executeBatch();
+        }
+    }
+}
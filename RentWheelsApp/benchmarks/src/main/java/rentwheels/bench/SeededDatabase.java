@@ -0,0 +1,43 @@
+package rentwheels.bench;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import rentwheels.DatabaseManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+// DatabaseManager on a fresh seeded copy; JMH forks a JVM per trial, so the singleton is never shared
+@State(Scope.Benchmark)
+public class SeededDatabase {
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    DatabaseManager db;
+    int users;
+    int cars;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void open() throws IOException, SQLException {
+        file = DatabaseSeeder.freshCopy(rows);
+        System.setProperty("rentwheels.db.path", file.toString());
+        db = DatabaseManager.getInstance();
+        users = DatabaseSeeder.userCount(rows);
+        cars = DatabaseSeeder.carCount(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        db.closeConnection();
+        for (String suffix : new String[] {"", "-wal", "-shm"}) {
+            Files.deleteIfExists(Path.of(file + suffix));
+        }
+    }
+}
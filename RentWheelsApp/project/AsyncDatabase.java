@@ -0,0 +1,50 @@
+package rentwheels;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Runs DatabaseManager calls on virtual threads and completes their futures on the FX thread
+public final class AsyncDatabase {
+    @FunctionalInterface
+    public interface Call<T> {
+        T apply(DatabaseManager db) throws Exception;
+    }
+
+    private final DatabaseManager db;
+    private final Executor completions;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("db-call-", 0).factory());
+
+    public AsyncDatabase(DatabaseManager db) {
+        this(db, Platform::runLater);
+    }
+
+    public AsyncDatabase(DatabaseManager db, Executor completions) {
+        this.db = db;
+        this.completions = completions;
+    }
+
+    public <T> CompletableFuture<T> call(Call<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            T value;
+            try {
+                value = call.apply(db);
+            } catch (Throwable e) {
+                completions.execute(() -> result.completeExceptionally(e));
+                return;
+            }
+            completions.execute(() -> result.complete(value));
+        });
+        return result;
+    }
+
+    // Calls already running finish; their results are still delivered
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,201 @@
+package rentwheels;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Upcoming reservations per car as sorted [start, end) day intervals, for lock-free date-range checks
+public final class AvailabilityIndex {
+    private final Map<Long, Bookings> bookingsByCar = new ConcurrentHashMap<>();
+
+    public void add(long carId, long reservationId, LocalDate start, LocalDate end) {
+        if (carId == 0) {
+            return;
+        }
+        long startDay = start.toEpochDay();
+        long endDay = releaseDay(start, end).toEpochDay();
+        bookingsByCar.compute(carId, (id, bookings) -> bookings == null
+                ? Bookings.of(new long[] {reservationId}, new long[] {startDay}, new long[] {endDay})
+                : bookings.with(reservationId, startDay, endDay));
+    }
+
+    // Replaces everything known about one car with its current upcoming reservations
+    public void replaceCar(long carId, List<Reservation> upcoming) {
+        if (upcoming.isEmpty()) {
+            bookingsByCar.remove(carId);
+            return;
+        }
+        long[] ids = new long[upcoming.size()];
+        long[] starts = new long[ids.length];
+        long[] ends = new long[ids.length];
+        Reservation[] sorted = upcoming.toArray(new Reservation[0]);
+        Arrays.sort(sorted, (a, b) -> a.getActualStartDate().compareTo(b.getActualStartDate()));
+        for (int i = 0; i < sorted.length; i++) {
+            ids[i] = sorted[i].getId();
+            starts[i] = sorted[i].getActualStartDate().toEpochDay();
+            ends[i] = releaseDay(sorted[i].getActualStartDate(), sorted[i].getActualEndDate()).toEpochDay();
+        }
+        bookingsByCar.put(carId, Bookings.of(ids, starts, ends));
+    }
+
+    public void removeCar(long carId) {
+        bookingsByCar.remove(carId);
+    }
+
+    public void clear() {
+        bookingsByCar.clear();
+    }
+
+    // True when no upcoming reservation of the car touches [start, end); end <= start means the day of start
+    public boolean isFree(long carId, LocalDate start, LocalDate end) {
+        return isFree(carId, start.toEpochDay(), releaseDay(start, end).toEpochDay());
+    }
+
+    // Epoch-day form for callers checking many cars against one range; endDay is exclusive
+    boolean isFree(long carId, long startDay, long endDay) {
+        Bookings bookings = bookingsByCar.get(carId);
+        return bookings == null || !bookings.overlaps(startDay, endDay);
+    }
+
+    public boolean isBooked(long carId, LocalDate day) {
+        return !isFree(carId, day, day.plusDays(1));
+    }
+
+    // Start of the first reservation beginning on or after day, or null when there is none
+    public LocalDate nextBookingStart(long carId, LocalDate day) {
+        Bookings bookings = bookingsByCar.get(carId);
+        if (bookings == null) {
+            return null;
+        }
+        int i = bookings.firstStartAtOrAfter(day.toEpochDay());
+        return i < bookings.starts.length ? LocalDate.ofEpochDay(bookings.starts[i]) : null;
+    }
+
+    // First day on or after day that the car is not reserved
+    public LocalDate firstFreeDay(long carId, LocalDate day) {
+        Bookings bookings = bookingsByCar.get(carId);
+        if (bookings == null) {
+            return day;
+        }
+        long free = day.toEpochDay();
+        // Jump to the end of whatever covers the candidate day until nothing does
+        while (true) {
+            int i = bookings.firstStartAtOrAfter(free + 1);
+            if (i == 0 || bookings.maxEnds[i - 1] <= free) {
+                return LocalDate.ofEpochDay(free);
+            }
+            free = bookings.maxEnds[i - 1];
+        }
+    }
+
+    public String getStats() {
+        int reservations = 0;
+        for (Bookings bookings : bookingsByCar.values()) {
+            reservations += bookings.starts.length;
+        }
+        return "cars=" + bookingsByCar.size() + ", reservations=" + reservations;
+    }
+
+    // Day a reservation from start to end frees its car: end, or the day after start for a
+    // same-day rental. Every date-range check and scheduled return uses this one rule.
+    public static LocalDate releaseDay(LocalDate start, LocalDate end) {
+        return end.isAfter(start) ? end : start.plusDays(1);
+    }
+
+    // One car's reservations sorted by start day; never modified once built
+    private static final class Bookings {
+        private final long[] reservationIds;
+        private final long[] starts;
+        private final long[] ends;
+        // maxEnds[i] is the latest end among the first i + 1 intervals
+        private final long[] maxEnds;
+
+        private Bookings(long[] reservationIds, long[] starts, long[] ends, long[] maxEnds) {
+            this.reservationIds = reservationIds;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = maxEnds;
+        }
+
+        // Expects the arrays sorted by start
+        static Bookings of(long[] reservationIds, long[] starts, long[] ends) {
+            long[] maxEnds = new long[ends.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+            return new Bookings(reservationIds, starts, ends, maxEnds);
+        }
+
+        // Adds or moves the interval of reservationId
+        Bookings with(long reservationId, long startDay, long endDay) {
+            Bookings base = without(reservationId);
+            if (base == null) {
+                return of(new long[] {reservationId}, new long[] {startDay}, new long[] {endDay});
+            }
+            int n = base.starts.length;
+            int at = base.firstStartAtOrAfter(startDay + 1);
+            long[] ids = new long[n + 1];
+            long[] newStarts = new long[n + 1];
+            long[] newEnds = new long[n + 1];
+            copyInserting(base.reservationIds, ids, at, reservationId);
+            copyInserting(base.starts, newStarts, at, startDay);
+            copyInserting(base.ends, newEnds, at, endDay);
+            return of(ids, newStarts, newEnds);
+        }
+
+        // Null when the last interval goes
+        Bookings without(long reservationId) {
+            int at = -1;
+            for (int i = 0; i < reservationIds.length; i++) {
+                if (reservationIds[i] == reservationId) {
+                    at = i;
+                    break;
+                }
+            }
+            if (at < 0) {
+                return this;
+            }
+            if (reservationIds.length == 1) {
+                return null;
+            }
+            return of(copyRemoving(reservationIds, at), copyRemoving(starts, at), copyRemoving(ends, at));
+        }
+
+        boolean overlaps(long startDay, long endDay) {
+            int i = firstStartAtOrAfter(endDay);
+            return i > 0 && maxEnds[i - 1] > startDay;
+        }
+
+        // Index of the first interval starting on or after day, or the length when none does
+        int firstStartAtOrAfter(long day) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static void copyInserting(long[] from, long[] to, int at, long value) {
+            System.arraycopy(from, 0, to, 0, at);
+            to[at] = value;
+            System.arraycopy(from, at, to, at + 1, from.length - at);
+        }
+
+        private static long[] copyRemoving(long[] from, int at) {
+            long[] to = new long[from.length - 1];
+            System.arraycopy(from, 0, to, 0, at);
+            System.arraycopy(from, at + 1, to, at, from.length - at - 1);
+            return to;
+        }
+    }
+}
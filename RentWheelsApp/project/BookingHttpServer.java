@@ -0,0 +1,315 @@
+package rentwheels;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Local HTTP/JSON API over BookingService; it has no authentication, so bind it to a trusted interface
+public final class BookingHttpServer {
+    // Listening port, override with -Drentwheels.http.port=N
+    public static final int DEFAULT_PORT = Integer.getInteger("rentwheels.http.port", 8080);
+    // Listening address, override with -Drentwheels.http.host=ADDRESS (0.0.0.0 for every interface)
+    public static final String DEFAULT_HOST = System.getProperty("rentwheels.http.host", "127.0.0.1");
+    // Seconds the bookingsPerSecond metric averages over
+    private static final int METRICS_RATE_SECONDS = 10;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    static {
+        // HttpServer writes headers and body separately, so without TCP_NODELAY a small body can
+        // wait out the client's delayed ACK. Read once, when the first HttpServer is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final BookingService service;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public BookingHttpServer(BookingService service, String host, int port) throws IOException {
+        this.service = service;
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("✓ Booking API listening on http://" + server.getAddress().getHostString() + ":" + getPort()
+                + "/api/");
+    }
+
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    // The bound port, useful when started on port 0
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Headless mode: serves bookings without the desktop window
+    public static void main(String[] args) throws IOException {
+        DatabaseManager db = DatabaseManager.getInstance();
+        ReturnScheduler returnScheduler = new ReturnScheduler(db,
+                returned -> System.out.println("✓ Returned cars: " + returned));
+        returnScheduler.start();
+        BookingService service = new BookingService(db);
+        service.setReturnScheduler(returnScheduler);
+
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        BookingHttpServer server = new BookingHttpServer(service, DEFAULT_HOST, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            returnScheduler.stop();
+            db.closeConnection();
+        }));
+        server.start();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            try {
+                route(exchange, method, path, query);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                sendError(exchange, 400, e.getMessage());
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                sendError(exchange, 500, "Internal error");
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange, String method, String[] path, Map<String, String> query)
+            throws IOException {
+        String resource = path[0];
+        if (resource.equals("cars") && path.length == 1 && method.equals("GET")) {
+            listCars(exchange, query);
+        } else if (resource.equals("cars") && path.length == 3 && path[2].equals("quote") && method.equals("GET")) {
+            quote(exchange, parseId(path[1]), query);
+        } else if (resource.equals("bookings") && path.length == 1 && method.equals("POST")) {
+            book(exchange);
+        } else if (resource.equals("reservations") && path.length == 1 && method.equals("GET")) {
+            listReservations(exchange, query);
+        } else if (resource.equals("reservations") && path.length == 3 && path[2].equals("invoice")
+                && method.equals("GET")) {
+            invoice(exchange, parseId(path[1]));
+        } else if (resource.equals("reservations") && path.length == 2 && method.equals("DELETE")) {
+            cancel(exchange, parseId(path[1]));
+        } else if (resource.equals("metrics") && path.length == 1 && method.equals("GET")) {
+            metrics(exchange);
+        } else {
+            sendError(exchange, 404, "No such endpoint: " + method + " " + exchange.getRequestURI().getPath());
+        }
+    }
+
+    private void listCars(HttpExchange exchange, Map<String, String> query) throws IOException {
+        LocalDate from = query.containsKey("from") ? LocalDate.parse(query.get("from")) : LocalDate.now();
+        LocalDate to = query.containsKey("to") ? LocalDate.parse(query.get("to")) : from.plusDays(1);
+        Json.Writer json = new Json.Writer().beginArray();
+        for (Car car : service.getCars()) {
+            writeCar(json, car).field("availability", service.availabilityOf(car, from, to)).endObject();
+        }
+        send(exchange, 200, json.endArray());
+    }
+
+    private void quote(HttpExchange exchange, long carId, Map<String, String> query) throws IOException {
+        LocalDate from = LocalDate.parse(required(query, "from"));
+        LocalDate to = LocalDate.parse(required(query, "to"));
+        String invalid = BookingService.validate(from, to);
+        if (invalid != null) {
+            sendError(exchange, 400, invalid);
+            return;
+        }
+        Car car = service.getCar(carId);
+        if (car == null) {
+            sendError(exchange, 404, "No car " + carId);
+            return;
+        }
+        send(exchange, 200, new Json.Writer().beginObject()
+                .field("carId", carId)
+                .field("from", from.toString())
+                .field("to", to.toString())
+                .field("days", BookingService.rentalDays(from, to))
+                .field("totalPaise", BookingService.quote(car, from, to))
+                .field("availability", service.availabilityOf(car, from, to))
+                .endObject());
+    }
+
+    private void book(HttpExchange exchange) throws IOException {
+        Map<String, String> body = Json.parseFlatObject(readBody(exchange));
+        long carId = parseId(required(body, "carId"));
+        String customerName = required(body, "customerName");
+        LocalDate from = LocalDate.parse(required(body, "from"));
+        LocalDate to = LocalDate.parse(required(body, "to"));
+        String invalid = BookingService.validate(from, to);
+        if (invalid != null) {
+            sendError(exchange, 400, invalid);
+            return;
+        }
+        Car car = service.getCar(carId);
+        if (car == null) {
+            sendError(exchange, 404, "No car " + carId);
+            return;
+        }
+        BookingResult result = service.book(car, customerName, from, to, body.get("paymentMethod"));
+        switch (result.getStatus()) {
+            case BOOKED -> {
+                Reservation reservation = result.getReservation();
+                send(exchange, 201, new Json.Writer().beginObject()
+                        .field("reservationId", reservation.getId())
+                        .field("invoiceId", result.getInvoice().getInvoiceId())
+                        .field("carId", carId)
+                        .field("from", from.toString())
+                        .field("to", to.toString())
+                        .field("totalPaise", reservation.getTotalCost())
+                        .endObject());
+            }
+            case CONFLICT -> sendError(exchange, 409, result.getMessage());
+            case FAILED -> sendError(exchange, 500, result.getMessage());
+        }
+    }
+
+    private void listReservations(HttpExchange exchange, Map<String, String> query) throws IOException {
+        List<Reservation> reservations = service.getReservations(query.get("customer"));
+        Json.Writer json = new Json.Writer().beginArray();
+        for (Reservation reservation : reservations) {
+            json.beginObject()
+                    .field("id", reservation.getId())
+                    .field("carId", reservation.getCarId())
+                    .field("carName", reservation.getCarName())
+                    .field("customerName", reservation.getCustomerName())
+                    .field("from", reservation.getActualStartDate().toString())
+                    .field("to", reservation.getActualEndDate().toString())
+                    .field("totalPaise", reservation.getTotalCost())
+                    .field("status", reservation.getStatus())
+                    .endObject();
+        }
+        send(exchange, 200, json.endArray());
+    }
+
+    private void invoice(HttpExchange exchange, long reservationId) throws IOException {
+        Invoice invoice = service.getInvoice(reservationId);
+        if (invoice == null) {
+            sendError(exchange, 404, "No invoice for reservation " + reservationId);
+            return;
+        }
+        send(exchange, 200, new Json.Writer().beginObject()
+                .field("invoiceId", invoice.getInvoiceId())
+                .field("reservationId", invoice.getReservationId())
+                .field("carName", invoice.getCarName())
+                .field("rentalPeriod", invoice.getRentalPeriod())
+                .field("totalPaise", invoice.getTotal())
+                .field("issueDate", invoice.getDate())
+                .field("customerName", invoice.getCustomerName())
+                .field("paymentMethod", invoice.getPaymentMethod())
+                .endObject());
+    }
+
+    private void cancel(HttpExchange exchange, long reservationId) throws IOException {
+        Reservation reservation = service.getReservation(reservationId);
+        if (reservation == null) {
+            sendError(exchange, 404, "No reservation " + reservationId);
+            return;
+        }
+        if (!service.cancel(reservation)) {
+            sendError(exchange, 500, "Failed to cancel reservation " + reservationId);
+            return;
+        }
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private void metrics(HttpExchange exchange) throws IOException {
+        send(exchange, 200, new Json.Writer().beginObject()
+                .field("bookings", service.getBookingCount())
+                .field("conflicts", service.getConflictCount())
+                .field("failures", service.getFailureCount())
+                .field("bookingsPerSecond", service.getBookingsPerSecond(METRICS_RATE_SECONDS))
+                .field("rateWindowSeconds", METRICS_RATE_SECONDS)
+                .field("statementCache", service.getStatementCacheStats())
+                .field("availabilityIndex", service.getAvailabilityStats())
+                .field("holds", service.getHoldStats())
+                .endObject());
+    }
+
+    private static Json.Writer writeCar(Json.Writer json, Car car) {
+        return json.beginObject()
+                .field("id", car.getId())
+                .field("name", car.getName())
+                .field("seats", car.getSeats())
+                .field("transmission", car.getTransmission())
+                .field("fuelType", car.getFuelType())
+                .field("pricePerDayPaise", car.getPrice())
+                .field("status", car.getStatus());
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+        return value;
+    }
+
+    private static long parseId(String text) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not an id: " + text);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                throw new IllegalArgumentException("Request body too large");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, new Json.Writer().beginObject().field("error", message).endObject());
+    }
+
+    private static void send(HttpExchange exchange, int status, Json.Writer json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
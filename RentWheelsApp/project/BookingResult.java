@@ -0,0 +1,51 @@
+package rentwheels;
+
+// Outcome of DatabaseManager.bookCar: either every write of the booking committed, or none did
+public class BookingResult {
+    // CONFLICT: the car already has a reservation overlapping the requested dates
+    public enum Status { BOOKED, CONFLICT, FAILED }
+
+    private final Status status;
+    private final Reservation reservation;
+    private final Invoice invoice;
+    private final String message;
+
+    private BookingResult(Status status, Reservation reservation, Invoice invoice, String message) {
+        this.status = status;
+        this.reservation = reservation;
+        this.invoice = invoice;
+        this.message = message;
+    }
+
+    public static BookingResult booked(Reservation reservation, Invoice invoice) {
+        return new BookingResult(Status.BOOKED, reservation, invoice, "Booking confirmed");
+    }
+
+    public static BookingResult conflict(String message) {
+        return new BookingResult(Status.CONFLICT, null, null, message);
+    }
+
+    public static BookingResult failed(String message) {
+        return new BookingResult(Status.FAILED, null, null, message);
+    }
+
+    public boolean isBooked() {
+        return status == Status.BOOKED;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Reservation getReservation() {
+        return reservation;
+    }
+
+    public Invoice getInvoice() {
+        return invoice;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
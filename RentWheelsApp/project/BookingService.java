@@ -0,0 +1,171 @@
+package rentwheels;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Pricing, holds, booking and cancelling, shared by the desktop screens and the HTTP API
+public class BookingService {
+    public static final String DEFAULT_PAYMENT_METHOD = "Cash on Return";
+    // Seconds of booking history kept for getBookingsPerSecond
+    public static final int RATE_WINDOW_SECONDS = 60;
+    private static final DateTimeFormatter INVOICE_DATE = DateTimeFormatter.ofPattern("MMMM d, yyyy");
+
+    private final DatabaseManager db;
+    private final ThroughputMeter bookings = new ThroughputMeter(RATE_WINDOW_SECONDS);
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    // Completes the booked reservations on their end date; the desktop app swaps it per login
+    private volatile ReturnScheduler returnScheduler;
+
+    public BookingService(DatabaseManager db) {
+        this.db = db;
+    }
+
+    public void setReturnScheduler(ReturnScheduler returnScheduler) {
+        this.returnScheduler = returnScheduler;
+    }
+
+    // Pricing: every started day is charged, and a same-day rental counts as one day
+    public static long rentalDays(LocalDate start, LocalDate end) {
+        return Math.max(1, ChronoUnit.DAYS.between(start, end));
+    }
+
+    public static long quote(Car car, LocalDate start, LocalDate end) {
+        return rentalDays(start, end) * car.getPrice();
+    }
+
+    // What a customer browsing start to end would see for the car, as on its card
+    public String availabilityOf(Car car, LocalDate start, LocalDate end) {
+        if (car.getStatus().equals("Unavailable")) {
+            return "Unavailable";
+        }
+        if (!db.getAvailability().isFree(car.getId(), start, end)) {
+            return "Booked";
+        }
+        if (db.getHolds().isHeld(car.getId(), start, end, null)) {
+            return "On hold";
+        }
+        return "Available";
+    }
+
+    public List<Car> getCars() {
+        return db.getAllCars();
+    }
+
+    public Car getCar(long carId) {
+        return db.getCar(carId);
+    }
+
+    // Null when the dates are taken or held by someone else
+    public CarHold hold(Car car, String customerName, LocalDate start, LocalDate end) {
+        return db.placeHold(car.getId(), customerName, start, end);
+    }
+
+    public void releaseHold(CarHold hold) {
+        db.releaseHold(hold);
+    }
+
+    // Books the car for customerName from start to end with its invoice, and schedules the return
+    public BookingResult book(Car car, String customerName, LocalDate start, LocalDate end, String paymentMethod) {
+        String invalid = validate(start, end);
+        if (invalid != null) {
+            failures.increment();
+            return BookingResult.failed(invalid);
+        }
+        long totalCost = quote(car, start, end);
+        // The invoice number is allocated inside the booking transaction
+        Invoice invoice = new Invoice(null, car.getName(),
+                start.format(INVOICE_DATE) + " - " + end.format(INVOICE_DATE),
+                totalCost, LocalDate.now().format(INVOICE_DATE), customerName,
+                paymentMethod != null ? paymentMethod : DEFAULT_PAYMENT_METHOD);
+        Reservation reservation = new Reservation(car.getId(), car.getName(), start, end, totalCost, "Upcoming",
+                customerName);
+
+        BookingResult result = db.bookCar(reservation, invoice);
+        switch (result.getStatus()) {
+            case BOOKED -> {
+                bookings.record();
+                ReturnScheduler scheduler = returnScheduler;
+                if (scheduler != null) {
+                    scheduler.schedule(reservation);
+                }
+            }
+            case CONFLICT -> conflicts.increment();
+            case FAILED -> failures.increment();
+        }
+        return result;
+    }
+
+    // Null when the dates are fine, else why they are not
+    public static String validate(LocalDate start, LocalDate end) {
+        if (start == null || end == null) {
+            return "Start and end dates are required.";
+        }
+        if (end.isBefore(start)) {
+            return "The end date is before the start date.";
+        }
+        if (start.isBefore(LocalDate.now())) {
+            return "The start date is in the past.";
+        }
+        return null;
+    }
+
+    // Deletes the reservation, which frees its dates; the car's status is the admin's to set
+    public boolean cancel(Reservation reservation) {
+        boolean cancelled = db.deleteReservation(reservation.getId());
+        ReturnScheduler scheduler = returnScheduler;
+        if (cancelled && scheduler != null) {
+            scheduler.cancel(reservation.getId());
+        }
+        return cancelled;
+    }
+
+    public Reservation getReservation(long reservationId) {
+        return db.getReservation(reservationId);
+    }
+
+    // customerName null lists every customer's reservations, newest first
+    public List<Reservation> getReservations(String customerName) {
+        return customerName == null ? db.getAllReservations() : db.getUserReservations(customerName);
+    }
+
+    public Invoice getInvoice(long reservationId) {
+        return db.getInvoiceByReservation(reservationId);
+    }
+
+    // Metrics
+    public long getBookingCount() {
+        return bookings.getTotal();
+    }
+
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    // Bookings per second over the last seconds whole seconds, up to RATE_WINDOW_SECONDS
+    public double getBookingsPerSecond(int seconds) {
+        return bookings.getRate(seconds);
+    }
+
+    // Prepared statement reuse across the pool, as "hits=N, misses=N, evictions=N"
+    public String getStatementCacheStats() {
+        return db.getStatementCacheStats();
+    }
+
+    // Cars and upcoming reservations in the availability index, as "cars=N, reservations=N"
+    public String getAvailabilityStats() {
+        return db.getAvailability().getStats();
+    }
+
+    // Live holds and their pending expiries, as "cars=N, holds=N, pendingExpiries=N"
+    public String getHoldStats() {
+        return db.getHolds().getStats();
+    }
+}
@@ -1,14 +1,23 @@
+package rentwheels;
+
 public class Car {
+    private long id; // row id; 0 until the car is saved
     private String name;
-    private String price;
+    private long price; // per day, in paise
     private String seats;
     private String transmission;
     private String fuelType;
     private String status;
     private String imagePath;
 
-    public Car(String name, String price, String seats, String transmission, String fuelType, String status,
+    public Car(String name, long price, String seats, String transmission, String fuelType, String status,
             String imagePath) {
+        this(0, name, price, seats, transmission, fuelType, status, imagePath);
+    }
+
+    public Car(long id, String name, long price, String seats, String transmission, String fuelType, String status,
+            String imagePath) {
+        this.id = id;
         this.name = name;
         this.price = price;
         this.seats = seats;
@@ -19,11 +28,14 @@ public class Car {
     }
 
     // Getters and setters
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
     
-    public String getPrice() { return price; }
-    public void setPrice(String price) { this.price = price; }
+    public long getPrice() { return price; }
+    public void setPrice(long price) { this.price = price; }
     
     public String getSeats() { return seats; }
     public void setSeats(String seats) { this.seats = seats; }
@@ -0,0 +1,200 @@
+package rentwheels;
+
+import javafx.beans.value.ChangeListener;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Card for the Available Cars grid, built once and rebound to another car by bind()
+public final class CarCard extends VBox {
+    private static final String STATUS_AVAILABLE_STYLE = "-fx-background-color: #e8f5e8; -fx-text-fill: #2e7d32; -fx-padding: 5 10; -fx-background-radius: 12; -fx-font-size: 12px; -fx-font-weight: bold;";
+    private static final String STATUS_BOOKED_STYLE = "-fx-background-color: #fff3e0; -fx-text-fill: #f57c00; -fx-padding: 5 10; -fx-background-radius: 12; -fx-font-size: 12px; -fx-font-weight: bold;";
+    private static final String STATUS_HELD_STYLE = "-fx-background-color: #ede7f6; -fx-text-fill: #5e35b1; -fx-padding: 5 10; -fx-background-radius: 12; -fx-font-size: 12px; -fx-font-weight: bold;";
+    private static final String STATUS_UNAVAILABLE_STYLE = "-fx-background-color: #ffebee; -fx-text-fill: #c62828; -fx-padding: 5 10; -fx-background-radius: 12; -fx-font-size: 12px; -fx-font-weight: bold;";
+    private static final String RESERVE_BUTTON_STYLE = "-fx-background-color: #4285f4; -fx-text-fill: white; -fx-padding: 10 0; -fx-background-radius: 4; -fx-font-weight: bold; -fx-font-size: 13px;";
+    private static final String DISABLED_BUTTON_STYLE = "-fx-background-color: #f5f5f5; -fx-text-fill: #999; -fx-padding: 10 0; -fx-background-radius: 4; -fx-font-size: 13px;";
+
+    private static final double IMAGE_WIDTH = 200;
+    private static final double IMAGE_HEIGHT = 140;
+
+    private final Consumer<Car> onReserve;
+    private final Function<Car, String> returnInfo;
+    private final Predicate<Car> isFree;
+    private final Predicate<Car> isHeld;
+
+    private final ImageView imageView = new ImageView();
+    private final Label placeholderText = new Label();
+    private final VBox placeholder;
+    private final Label nameLabel = new Label();
+    private final Label seatsLabel = new Label();
+    private final Label transmissionLabel = new Label();
+    private final Label fuelLabel = new Label();
+    private final Label statusLabel = new Label();
+    private final Label returnLabel = new Label();
+    private final Label priceLabel = new Label();
+    private final Button actionButton = new Button();
+
+    private final ChangeListener<Number> imageProgressListener = (obs, old, progress) -> showImageIfReady();
+
+    private Car car;
+    private Image image;
+
+    public CarCard(Consumer<Car> onReserve, Function<Car, String> returnInfo, Predicate<Car> isFree,
+            Predicate<Car> isHeld) {
+        super(15);
+        this.onReserve = onReserve;
+        this.returnInfo = returnInfo;
+        this.isFree = isFree;
+        this.isHeld = isHeld;
+
+        setPadding(new Insets(20));
+        setStyle("-fx-background-color: white; -fx-background-radius: 8; -fx-effect: dropshadow(three-pass-box, rgba(0,0,0,0.1), 8, 0, 0, 2);");
+        setMaxWidth(Double.MAX_VALUE);
+        setPrefWidth(Region.USE_COMPUTED_SIZE);
+
+        VBox imageContainer = new VBox();
+        imageContainer.setAlignment(Pos.CENTER);
+        imageContainer.setPrefHeight(140);
+        imageContainer.setMaxWidth(Double.MAX_VALUE);
+        imageContainer.setStyle(
+                "-fx-background-color: linear-gradient(to bottom, #e3f2fd, #bbdefb); -fx-background-radius: 4;");
+        imageView.setFitWidth(IMAGE_WIDTH);
+        imageView.setFitHeight(IMAGE_HEIGHT);
+        imageView.setPreserveRatio(true);
+        imageView.setSmooth(true);
+        Label carEmoji = new Label("🚗");
+        carEmoji.setStyle("-fx-font-size: 42px;");
+        placeholderText.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
+        placeholder = new VBox(10, carEmoji, placeholderText);
+        placeholder.setAlignment(Pos.CENTER);
+        imageContainer.getChildren().addAll(imageView, placeholder);
+
+        nameLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+        nameLabel.setStyle("-fx-text-fill: #333;");
+        nameLabel.setWrapText(true);
+        nameLabel.setMaxWidth(Double.MAX_VALUE);
+
+        Label yearLabel = new Label("2022");
+        yearLabel.setStyle("-fx-text-fill: #666; -fx-font-size: 13px;");
+
+        VBox specsBox = new VBox(5);
+        specsBox.setAlignment(Pos.CENTER_LEFT);
+        seatsLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
+        transmissionLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
+        fuelLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
+        specsBox.getChildren().addAll(seatsLabel, transmissionLabel, fuelLabel);
+
+        VBox statusInfo = new VBox(5);
+        statusInfo.setAlignment(Pos.CENTER_LEFT);
+        returnLabel.setStyle("-fx-text-fill: #666; -fx-font-size: 11px; -fx-font-style: italic;");
+        statusInfo.getChildren().addAll(statusLabel, returnLabel);
+
+        VBox bottomSection = new VBox(10);
+        bottomSection.setAlignment(Pos.CENTER);
+        VBox priceBox = new VBox(3);
+        priceBox.setAlignment(Pos.CENTER);
+        priceLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
+        priceLabel.setStyle("-fx-text-fill: #4285f4;");
+        Label perDayLabel = new Label("per day");
+        perDayLabel.setStyle("-fx-text-fill: #666; -fx-font-size: 12px;");
+        priceBox.getChildren().addAll(priceLabel, perDayLabel);
+
+        actionButton.setMaxWidth(Double.MAX_VALUE);
+        actionButton.setOnAction(e -> {
+            if (car != null) {
+                onReserve.accept(car);
+            }
+        });
+        bottomSection.getChildren().addAll(priceBox, actionButton);
+
+        getChildren().addAll(imageContainer, nameLabel, yearLabel, specsBox, statusInfo, bottomSection);
+    }
+
+    public Car getCar() {
+        return car;
+    }
+
+    public void bind(Car car) {
+        this.car = car;
+
+        bindImage(car);
+        nameLabel.setText(car.getName());
+        seatsLabel.setText("👥 " + car.getSeats());
+        transmissionLabel.setText("⚙️ " + car.getTransmission());
+        fuelLabel.setText("⛽ " + car.getFuelType());
+        priceLabel.setText(Money.format(car.getPrice()));
+
+        String returnText = "";
+        String blockedText = "Unavailable";
+        boolean reservable = false;
+        if (car.getStatus().equals("Unavailable")) {
+            statusLabel.setText("Unavailable");
+            statusLabel.setStyle(STATUS_UNAVAILABLE_STYLE);
+        } else if (!isFree.test(car)) {
+            statusLabel.setText("Booked");
+            statusLabel.setStyle(STATUS_BOOKED_STYLE);
+            returnText = returnInfo.apply(car);
+        } else if (isHeld.test(car)) {
+            // Another customer is at the payment step; the hold lapses within minutes
+            statusLabel.setText("On hold");
+            statusLabel.setStyle(STATUS_HELD_STYLE);
+            blockedText = "On Hold";
+        } else {
+            statusLabel.setText("Available");
+            statusLabel.setStyle(STATUS_AVAILABLE_STYLE);
+            reservable = true;
+        }
+        returnLabel.setText("📅 " + returnText);
+        setShown(returnLabel, !returnText.isEmpty());
+
+        if (reservable) {
+            actionButton.setText("Reserve Now");
+            actionButton.setStyle(RESERVE_BUTTON_STYLE);
+            actionButton.setDisable(false);
+        } else {
+            actionButton.setText(blockedText);
+            actionButton.setStyle(DISABLED_BUTTON_STYLE);
+            actionButton.setDisable(true);
+        }
+    }
+
+    // The cached image may still be decoding; the placeholder stays up until it is ready
+    private void bindImage(Car car) {
+        placeholderText.setText(car.getName());
+        Image next = ImageCache.getInstance().get("/images/cars/" + car.getImagePath(), IMAGE_WIDTH, IMAGE_HEIGHT);
+        if (next == image) {
+            return;
+        }
+        if (image != null) {
+            image.progressProperty().removeListener(imageProgressListener);
+        }
+        image = next;
+        if (image != null && image.getProgress() < 1) {
+            image.progressProperty().addListener(imageProgressListener);
+        }
+        showImageIfReady();
+    }
+
+    private void showImageIfReady() {
+        boolean ready = image != null && image.getProgress() >= 1 && !image.isError();
+        imageView.setImage(ready ? image : null);
+        setShown(imageView, ready);
+        setShown(placeholder, !ready);
+    }
+
+    private static void setShown(javafx.scene.Node node, boolean shown) {
+        node.setVisible(shown);
+        node.setManaged(shown);
+    }
+}
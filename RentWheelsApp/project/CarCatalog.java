@@ -0,0 +1,217 @@
+package rentwheels;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Column-oriented view of the fleet with per-value bitsets, for the Available Cars filters
+public final class CarCatalog {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Car[] cars = new Car[0];
+    private String[] lowerNames = new String[0];
+    private int[] seats = new int[0];
+    private int[] transmissionCodes = new int[0];
+    private int[] fuelCodes = new int[0];
+    private long[] prices = new long[0];
+    private int size;
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> rowsById = new HashMap<>();
+
+    private final Map<Integer, BitSet> rowsBySeats = new HashMap<>();
+    private final Dictionary transmissions = new Dictionary();
+    private final Dictionary fuels = new Dictionary();
+
+    private final AvailabilityIndex availability;
+
+    public CarCatalog(List<Car> fleet, AvailabilityIndex availability) {
+        this.availability = availability;
+        replaceAll(fleet);
+    }
+
+    // Expects the fleet newest first, as getAllCars() returns it
+    public void replaceAll(List<Car> fleet) {
+        lock.writeLock().lock();
+        try {
+            int n = fleet.size();
+            cars = new Car[n];
+            lowerNames = new String[n];
+            seats = new int[n];
+            transmissionCodes = new int[n];
+            fuelCodes = new int[n];
+            prices = new long[n];
+            size = 0;
+            live.clear();
+            rowsById.clear();
+            rowsBySeats.clear();
+            transmissions.clear();
+            fuels.clear();
+            for (int i = n - 1; i >= 0; i--) {
+                appendRow(fleet.get(i));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replaces the car with the same id, or adds it as the newest car
+    public void upsert(Car car) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById.get(car.getId());
+            if (row == null) {
+                appendRow(car);
+            } else {
+                clearRow(row);
+                writeRow(row, car);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long carId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById.remove(carId);
+            if (row != null) {
+                clearRow(row);
+                live.clear(row);
+                cars[row] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns matching cars newest first
+    public List<Car> filter(CarQuery query) {
+        lock.readLock().lock();
+        try {
+            BitSet rows = (BitSet) live.clone();
+            if (query.getSeats() != null) {
+                rows.and(rowsBySeats.getOrDefault(query.getSeats(), new BitSet()));
+            }
+            if (query.getTransmission() != null) {
+                rows.and(transmissions.rows(query.getTransmission()));
+            }
+            if (query.getFuelType() != null) {
+                rows.and(fuels.rows(query.getFuelType()));
+            }
+
+            long maxPrice = query.getMaxPrice() != null ? query.getMaxPrice() : Long.MAX_VALUE;
+            String nameFragment = query.getNameFragment();
+            LocalDate from = query.getAvailableFrom();
+            long fromDay = from == null ? 0 : from.toEpochDay();
+            long toDay = from == null ? 0 : query.getAvailableTo().toEpochDay();
+            List<Car> matches = new ArrayList<>(rows.cardinality());
+            for (int row = rows.length() - 1; row >= 0; row = rows.previousSetBit(row - 1)) {
+                if (prices[row] <= maxPrice && (nameFragment == null || lowerNames[row].contains(nameFragment))
+                        && (from == null || isBookable(cars[row], fromDay, toDay))) {
+                    matches.add(cars[row]);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Cars taken out of service by an admin are never offered, whatever their reservations
+    private boolean isBookable(Car car, long fromDay, long toDay) {
+        return !"Unavailable".equals(car.getStatus()) && availability.isFree(car.getId(), fromDay, toDay);
+    }
+
+    private void appendRow(Car car) {
+        if (size == cars.length) {
+            int capacity = Math.max(16, size * 2);
+            cars = Arrays.copyOf(cars, capacity);
+            lowerNames = Arrays.copyOf(lowerNames, capacity);
+            seats = Arrays.copyOf(seats, capacity);
+            transmissionCodes = Arrays.copyOf(transmissionCodes, capacity);
+            fuelCodes = Arrays.copyOf(fuelCodes, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+        }
+        int row = size++;
+        live.set(row);
+        rowsById.put(car.getId(), row);
+        writeRow(row, car);
+    }
+
+    private void clearRow(int row) {
+        BitSet seatRows = rowsBySeats.get(seats[row]);
+        if (seatRows != null) {
+            seatRows.clear(row);
+        }
+        transmissions.rowsFor(transmissionCodes[row]).clear(row);
+        fuels.rowsFor(fuelCodes[row]).clear(row);
+    }
+
+    private void writeRow(int row, Car car) {
+        cars[row] = car;
+        lowerNames[row] = car.getName().toLowerCase(Locale.ROOT);
+        seats[row] = parseSeats(car.getSeats());
+        transmissionCodes[row] = transmissions.code(car.getTransmission());
+        fuelCodes[row] = fuels.code(car.getFuelType());
+        prices[row] = car.getPrice();
+
+        rowsBySeats.computeIfAbsent(seats[row], k -> new BitSet()).set(row);
+        transmissions.rowsFor(transmissionCodes[row]).set(row);
+        fuels.rowsFor(fuelCodes[row]).set(row);
+    }
+
+    // "5 Seats" -> 5; anything without a leading number counts as 0
+    static int parseSeats(String seatsLabel) {
+        if (seatsLabel == null) {
+            return 0;
+        }
+        String trimmed = seatsLabel.trim();
+        int end = 0;
+        while (end < trimmed.length() && Character.isDigit(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? 0 : Integer.parseInt(trimmed.substring(0, end));
+    }
+
+    // Maps each distinct string value to a small integer code and the rows holding it
+    private static class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<BitSet> rowsByCode = new ArrayList<>();
+
+        int code(String value) {
+            return codes.computeIfAbsent(value == null ? "" : value, v -> {
+                rowsByCode.add(new BitSet());
+                return rowsByCode.size() - 1;
+            });
+        }
+
+        BitSet rowsFor(int code) {
+            return rowsByCode.get(code);
+        }
+
+        BitSet rows(String value) {
+            Integer code = codes.get(value);
+            return code == null ? new BitSet() : rowsByCode.get(code);
+        }
+
+        void clear() {
+            codes.clear();
+            rowsByCode.clear();
+        }
+    }
+}
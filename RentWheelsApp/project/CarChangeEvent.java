@@ -0,0 +1,25 @@
+package rentwheels;
+
+// A committed change to one row of the cars table, as published by DatabaseManager
+public class CarChangeEvent {
+    public enum Type {
+        INSERTED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Car car;
+
+    public CarChangeEvent(Type type, Car car) {
+        this.type = type;
+        this.car = car;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    // The row as it is now, or as it was just before it was deleted
+    public Car getCar() {
+        return car;
+    }
+}
@@ -0,0 +1,7 @@
+package rentwheels;
+
+// Receives car changes after they are committed, on the thread that made the change
+@FunctionalInterface
+public interface CarChangeListener {
+    void carChanged(CarChangeEvent event);
+}
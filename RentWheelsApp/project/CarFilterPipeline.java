@@ -0,0 +1,70 @@
+package rentwheels;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+// Debounces Available Cars queries and evaluates only the newest one off the FX thread
+public class CarFilterPipeline {
+    // Quiet time before a filter edit runs, override with -Drentwheels.filter.debounceMillis=N
+    private static final long DEBOUNCE_MILLIS = Long.getLong("rentwheels.filter.debounceMillis", 150L);
+
+    private final CarCatalog catalog;
+    private final Consumer<List<Car>> onResult;
+    private final PauseTransition debounce = new PauseTransition(Duration.millis(DEBOUNCE_MILLIS));
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "car-filter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only touched on the FX thread
+    private CarQuery pendingQuery;
+    private long generation;
+    private Future<?> running;
+
+    public CarFilterPipeline(CarCatalog catalog, Consumer<List<Car>> onResult) {
+        this.catalog = catalog;
+        this.onResult = onResult;
+        debounce.setOnFinished(e -> run(pendingQuery));
+    }
+
+    // For user input: waits for a pause in typing before querying
+    public void submit(CarQuery query) {
+        pendingQuery = query;
+        debounce.playFromStart();
+    }
+
+    // For data changes: queries right away, superseding any debounced input
+    public void refreshNow(CarQuery query) {
+        debounce.stop();
+        run(query);
+    }
+
+    public void shutdown() {
+        debounce.stop();
+        executor.shutdownNow();
+    }
+
+    private void run(CarQuery query) {
+        long queryGeneration = ++generation;
+        if (running != null) {
+            running.cancel(true);
+        }
+        running = executor.submit(() -> {
+            List<Car> cars = catalog.filter(query);
+            Platform.runLater(() -> {
+                if (queryGeneration == generation) {
+                    running = null;
+                    onResult.accept(cars);
+                }
+            });
+        });
+    }
+}
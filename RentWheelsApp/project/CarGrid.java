@@ -0,0 +1,164 @@
+package rentwheels;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+// Virtualized ListView of CarCard rows for the Available Cars view
+public final class CarGrid extends ListView<List<Car>> {
+    private static final int COLUMNS = 4;
+    private static final double GAP = 20;
+    private static final DateTimeFormatter BOOKED_FROM = DateTimeFormatter.ofPattern("MMM d");
+
+    private final ObservableList<List<Car>> rows = FXCollections.observableArrayList();
+    private final Consumer<Car> onReserve;
+    private final AvailabilityIndex availability;
+    private final HoldManager holds;
+
+    private LocalDate windowStart;
+    private LocalDate windowEnd;
+    // Bumped when the window changes so cells rebind cards still showing the same car
+    private int windowGeneration;
+
+    public CarGrid(Consumer<Car> onReserve, AvailabilityIndex availability, HoldManager holds) {
+        this.onReserve = onReserve;
+        this.availability = availability;
+        this.holds = holds;
+
+        setItems(rows);
+        setCellFactory(list -> new RowCell());
+        setFocusTraversable(false);
+        setStyle("-fx-background-color: transparent; -fx-background-insets: 0; -fx-padding: 10 0;");
+    }
+
+    public void setCars(List<Car> cars) {
+        List<List<Car>> chunked = new ArrayList<>((cars.size() + COLUMNS - 1) / COLUMNS);
+        for (int i = 0; i < cars.size(); i += COLUMNS) {
+            chunked.add(cars.subList(i, Math.min(i + COLUMNS, cars.size())));
+        }
+        // Only rows whose cars changed are replaced, so unchanged cells are not rebound
+        int common = Math.min(rows.size(), chunked.size());
+        for (int i = 0; i < common; i++) {
+            if (!sameCars(rows.get(i), chunked.get(i))) {
+                rows.set(i, chunked.get(i));
+            }
+        }
+        if (rows.size() > common) {
+            rows.remove(common, rows.size());
+        } else if (chunked.size() > common) {
+            rows.addAll(chunked.subList(common, chunked.size()));
+        }
+    }
+
+    // A null start means today; the end is exclusive as in CarQuery
+    public void setAvailabilityWindow(LocalDate start, LocalDate end) {
+        if (Objects.equals(start, windowStart) && Objects.equals(end, windowEnd)) {
+            return;
+        }
+        windowStart = start;
+        windowEnd = end;
+        windowGeneration++;
+        refresh();
+    }
+
+    private boolean isFree(Car car) {
+        if (windowStart == null) {
+            LocalDate today = LocalDate.now();
+            return availability.isFree(car.getId(), today, today.plusDays(1));
+        }
+        return availability.isFree(car.getId(), windowStart, windowEnd);
+    }
+
+    // Shown on a Booked card: when the car is back, or when a booking inside the window begins
+    private String returnInfo(Car car) {
+        LocalDate today = LocalDate.now();
+        LocalDate start = windowStart == null ? today : windowStart;
+        LocalDate freeDay = availability.firstFreeDay(car.getId(), start);
+        if (!freeDay.isAfter(start)) {
+            // Free on the first day of the window, so it is taken later in it
+            LocalDate bookedFrom = availability.nextBookingStart(car.getId(), start);
+            return bookedFrom == null ? "" : "Booked from " + bookedFrom.format(BOOKED_FROM);
+        }
+        long daysUntilReturn = ChronoUnit.DAYS.between(today, freeDay);
+        if (daysUntilReturn <= 0) {
+            return "Returns today";
+        } else if (daysUntilReturn == 1) {
+            return "Returns tomorrow";
+        } else {
+            return "Returns in " + daysUntilReturn + " days";
+        }
+    }
+
+    // Any customer's hold counts, the viewer's own included: they are already paying for it
+    private boolean isHeld(Car car) {
+        if (windowStart == null) {
+            LocalDate today = LocalDate.now();
+            return holds.isHeld(car.getId(), today, today.plusDays(1), null);
+        }
+        return holds.isHeld(car.getId(), windowStart, windowEnd, null);
+    }
+
+    // DatabaseManager publishes a new Car instance for every change, so identity is enough
+    private static boolean sameCars(List<Car> a, List<Car> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private class RowCell extends ListCell<List<Car>> {
+        private final HBox row = new HBox(GAP);
+        private final CarCard[] cards = new CarCard[COLUMNS];
+        private final int[] cardGenerations = new int[COLUMNS];
+
+        RowCell() {
+            row.setPadding(new Insets(10));
+            for (int i = 0; i < COLUMNS; i++) {
+                cards[i] = new CarCard(onReserve, CarGrid.this::returnInfo, CarGrid.this::isFree, CarGrid.this::isHeld);
+                cards[i].setMinWidth(0);
+                // Equal widths; hidden cards keep their slot so short last rows stay aligned
+                cards[i].prefWidthProperty().bind(widthProperty().subtract(GAP * (COLUMNS - 1) + 20).divide(COLUMNS));
+                row.getChildren().add(cards[i]);
+            }
+            setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+            setText(null);
+        }
+
+        @Override
+        protected void updateItem(List<Car> cars, boolean empty) {
+            super.updateItem(cars, empty);
+            if (empty || cars == null) {
+                setGraphic(null);
+                return;
+            }
+            for (int i = 0; i < COLUMNS; i++) {
+                if (i < cars.size()) {
+                    if (cards[i].getCar() != cars.get(i) || cardGenerations[i] != windowGeneration) {
+                        cards[i].bind(cars.get(i));
+                        cardGenerations[i] = windowGeneration;
+                    }
+                    cards[i].setVisible(true);
+                } else {
+                    cards[i].setVisible(false);
+                }
+            }
+            setGraphic(row);
+        }
+    }
+}
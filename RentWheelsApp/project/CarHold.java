@@ -0,0 +1,66 @@
+package rentwheels;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// A customer's short-lived claim on a car's dates while they pay; see HoldManager
+public class CarHold {
+    private long id;
+    private final long carId;
+    private final String customerName;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Instant expiresAt;
+
+    public CarHold(long carId, String customerName, LocalDate startDate, LocalDate endDate, Instant expiresAt) {
+        this(0, carId, customerName, startDate, endDate, expiresAt);
+    }
+
+    public CarHold(long id, long carId, String customerName, LocalDate startDate, LocalDate endDate,
+            Instant expiresAt) {
+        this.id = id;
+        this.carId = carId;
+        this.customerName = customerName;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.expiresAt = expiresAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public long getCarId() {
+        return carId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    // Same day rule as AvailabilityIndex: [start, end), or just the start day when end <= start
+    boolean overlaps(LocalDate start, LocalDate end) {
+        return startDate.isBefore(AvailabilityIndex.releaseDay(start, end))
+                && start.isBefore(AvailabilityIndex.releaseDay(startDate, endDate));
+    }
+}
@@ -0,0 +1,66 @@
+package rentwheels;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+// Filter criteria for CarCatalog; a null criterion matches every car
+public class CarQuery {
+    private final String nameFragment;
+    private final Integer seats;
+    private final String transmission;
+    private final String fuelType;
+    private final Long maxPrice;
+    private final LocalDate availableFrom;
+    private final LocalDate availableTo;
+
+    public CarQuery(String nameFragment, Integer seats, String transmission, String fuelType, Long maxPrice) {
+        this(nameFragment, seats, transmission, fuelType, maxPrice, null, null);
+    }
+
+    // A missing or non-positive date range is widened to the single day of availableFrom
+    public CarQuery(String nameFragment, Integer seats, String transmission, String fuelType, Long maxPrice,
+            LocalDate availableFrom, LocalDate availableTo) {
+        this.nameFragment = nameFragment == null || nameFragment.trim().isEmpty()
+                ? null
+                : nameFragment.toLowerCase(Locale.ROOT);
+        this.seats = seats;
+        this.transmission = transmission;
+        this.fuelType = fuelType;
+        this.maxPrice = maxPrice;
+        this.availableFrom = availableFrom;
+        this.availableTo = availableFrom == null ? null
+                : AvailabilityIndex.releaseDay(availableFrom, availableTo == null ? availableFrom : availableTo);
+    }
+
+    // Lower-cased, or null when no name filter applies
+    public String getNameFragment() {
+        return nameFragment;
+    }
+
+    public Integer getSeats() {
+        return seats;
+    }
+
+    public String getTransmission() {
+        return transmission;
+    }
+
+    public String getFuelType() {
+        return fuelType;
+    }
+
+    // In paise
+    public Long getMaxPrice() {
+        return maxPrice;
+    }
+
+    // Null when cars are not filtered by availability
+    public LocalDate getAvailableFrom() {
+        return availableFrom;
+    }
+
+    // Exclusive: the day the car would be returned
+    public LocalDate getAvailableTo() {
+        return availableTo;
+    }
+}
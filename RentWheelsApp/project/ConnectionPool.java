@@ -0,0 +1,159 @@
+package rentwheels;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Bounded pool of SQLite connections: one writer and a fixed number of WAL readers
+public class ConnectionPool implements AutoCloseable {
+    private static final long ACQUIRE_TIMEOUT_SECONDS = 30;
+    private static final int BUSY_TIMEOUT_MILLIS = 5000;
+
+    private final StorageProfile profile;
+    private final Connection writer;
+    private final ReentrantLock writerLock = new ReentrantLock(true);
+    private final BlockingQueue<Connection> idleReaders;
+    private final List<Connection> allReaders = new ArrayList<>();
+    // Filled in the constructor and never modified afterwards, so safe to read from any thread
+    private final Map<Connection, StatementCache> statementCaches = new IdentityHashMap<>();
+
+    public ConnectionPool(String url, int readerCount, StorageProfile profile, int statementCacheSize)
+            throws SQLException {
+        if (readerCount < 1) {
+            throw new IllegalArgumentException("readerCount must be at least 1");
+        }
+        this.profile = profile;
+        writer = DriverManager.getConnection(url);
+        try (Statement stmt = writer.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MILLIS);
+            // SQLite leaves foreign key enforcement off per connection unless asked; only writes need it
+            stmt.execute("PRAGMA foreign_keys = ON");
+        }
+        profile.apply(writer, true);
+        statementCaches.put(writer, new StatementCache(writer, statementCacheSize));
+
+        idleReaders = new ArrayBlockingQueue<>(readerCount);
+        for (int i = 0; i < readerCount; i++) {
+            Connection reader = DriverManager.getConnection(url);
+            try (Statement stmt = reader.createStatement()) {
+                stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MILLIS);
+                stmt.execute("PRAGMA query_only = ON");
+            }
+            profile.apply(reader, false);
+            statementCaches.put(reader, new StatementCache(reader, statementCacheSize));
+            allReaders.add(reader);
+            idleReaders.add(reader);
+        }
+    }
+
+    // Leases a read-only connection; blocks until one is free
+    public Lease reader() throws SQLException {
+        try {
+            Connection reader = idleReaders.poll(ACQUIRE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (reader == null) {
+                throw new SQLException("Timed out waiting for a reader connection");
+            }
+            return new Lease(reader, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a reader connection", e);
+        }
+    }
+
+    // Leases the writer connection; reentrant, so a thread that already holds it may lease it again
+    public Lease writer() throws SQLException {
+        try {
+            if (!writerLock.tryLock(ACQUIRE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new SQLException("Timed out waiting for the writer connection");
+            }
+            return new Lease(writer, true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the writer connection", e);
+        }
+    }
+
+    public StorageProfile getProfile() {
+        return profile;
+    }
+
+    public int getReaderCount() {
+        return allReaders.size();
+    }
+
+    public long getStatementCacheHits() {
+        return statementCaches.values().stream().mapToLong(StatementCache::getHits).sum();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCaches.values().stream().mapToLong(StatementCache::getMisses).sum();
+    }
+
+    public long getStatementCacheEvictions() {
+        return statementCaches.values().stream().mapToLong(StatementCache::getEvictions).sum();
+    }
+
+    @Override
+    public void close() {
+        for (StatementCache cache : statementCaches.values()) {
+            cache.clear();
+        }
+        closeQuietly(writer);
+        for (Connection reader : allReaders) {
+            closeQuietly(reader);
+        }
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            if (!connection.isClosed()) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public class Lease implements AutoCloseable {
+        private final Connection connection;
+        private final boolean write;
+        private boolean released;
+
+        private Lease(Connection connection, boolean write) {
+            this.connection = connection;
+            this.write = write;
+        }
+
+        public Connection connection() {
+            return connection;
+        }
+
+        // Returns a cached statement owned by this connection; close its result sets, not the statement
+        public PreparedStatement prepare(String sql) throws SQLException {
+            return statementCaches.get(connection).prepare(sql);
+        }
+
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (write) {
+                writerLock.unlock();
+            } else {
+                idleReaders.offer(connection);
+            }
+        }
+    }
+}
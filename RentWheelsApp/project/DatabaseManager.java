@@ -1,102 +1,84 @@
+package rentwheels;
+
 import java.sql.*;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class DatabaseManager {
-    private static final String DB_NAME = "rentwheels.db";
+    // Database file, override with -Drentwheels.db.path=FILE
+    private static final String DB_NAME = System.getProperty("rentwheels.db.path", "rentwheels.db");
     private static final String DB_URL = "jdbc:sqlite:" + DB_NAME;
-    private static DatabaseManager instance;
-    private Connection connection;
+    // Number of pooled read connections, override with -Drentwheels.db.readers=N
+    private static final int READER_COUNT = Integer.getInteger("rentwheels.db.readers", 4);
+    // Compiled statements kept per connection, override with -Drentwheels.db.statementCache=N
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("rentwheels.db.statementCache", 64);
+    // Rows SQLite hands to the driver per step batch for the stream* methods
+    public static final int DEFAULT_FETCH_SIZE = Integer.getInteger("rentwheels.db.fetchSize", 500);
+    // Invoice numbers reserved per database round trip, override with -Drentwheels.invoice.blockSize=N
+    private static final int INVOICE_BLOCK_SIZE = Integer.getInteger("rentwheels.invoice.blockSize", 1);
+    // Locks serializing reservations of the same car, override with -Drentwheels.booking.lockStripes=N
+    private static final int BOOKING_LOCK_STRIPES = Integer.getInteger("rentwheels.booking.lockStripes", 64);
+    // How long a car stays held for a customer at the payment step, override with -Drentwheels.hold.seconds=N
+    private static final int HOLD_SECONDS = Integer.getInteger("rentwheels.hold.seconds", 600);
+    private final InvoiceSequence invoiceSequence = new InvoiceSequence(INVOICE_BLOCK_SIZE);
+    private ConnectionPool pool;
+    // Every upcoming reservation by car, kept current by the reservation mutators
+    private final AvailabilityIndex availability = new AvailabilityIndex();
+    private final StripedLocks bookingLocks = new StripedLocks(BOOKING_LOCK_STRIPES);
+    // Live holds; the holds table mirrors them so they survive a restart
+    private final HoldManager holds = new HoldManager(this::onHoldExpired);
+    private final List<CarChangeListener> carChangeListeners = new CopyOnWriteArrayList<>();
 
     private DatabaseManager() {
         initializeDatabase();
     }
 
+    // Initialization-on-demand holder: the JVM guarantees the instance is created exactly once
+    private static class Holder {
+        private static final DatabaseManager INSTANCE = new DatabaseManager();
+    }
+
     public static DatabaseManager getInstance() {
-        if (instance == null) {
-            instance = new DatabaseManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     private void initializeDatabase() {
         try {
-            connection = DriverManager.getConnection(DB_URL);
-            createTables();
+            pool = new ConnectionPool(DB_URL, READER_COUNT, StorageProfile.fromSystemProperty(), STATEMENT_CACHE_SIZE);
+            logStorageSettings();
+            migrateSchema();
             insertDefaultData();
+            loadAvailability();
+            loadHolds();
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
-    private void createTables() throws SQLException {
-    
-    // Users table
-    String createUsersTable = """
-                CREATE TABLE IF NOT EXISTS users (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    name TEXT NOT NULL,
-                    email TEXT NOT NULL UNIQUE,
-                    username TEXT NOT NULL UNIQUE,
-                    password TEXT NOT NULL,
-                    created_date DATE DEFAULT CURRENT_DATE
-                )
-            """;
-
-    // Cars table
-    String createCarsTable = """
-                CREATE TABLE IF NOT EXISTS cars (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    name TEXT NOT NULL,
-                    price TEXT NOT NULL,
-                    seats TEXT NOT NULL,
-                    transmission TEXT NOT NULL,
-                    fuel_type TEXT NOT NULL,
-                    status TEXT NOT NULL DEFAULT 'Available',
-                    image_path TEXT,
-                    created_date DATE DEFAULT CURRENT_DATE
-                )
-            """;
-
-    // Reservations table
-    String createReservationsTable = """
-                CREATE TABLE IF NOT EXISTS reservations (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    car_name TEXT NOT NULL,
-                    customer_name TEXT NOT NULL,
-                    start_date DATE NOT NULL,
-                    end_date DATE NOT NULL,
-                    total_cost TEXT NOT NULL,
-                    status TEXT NOT NULL DEFAULT 'Upcoming',
-                    created_date DATE DEFAULT CURRENT_DATE
-                )
-            """;
-
-    // Invoices table with customer_name
-    String createInvoicesTable = """
-                CREATE TABLE IF NOT EXISTS invoices (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    invoice_id TEXT NOT NULL UNIQUE,
-                    car_name TEXT NOT NULL,
-                    rental_period TEXT NOT NULL,
-                    total TEXT NOT NULL,
-                    issue_date TEXT NOT NULL,
-                    customer_name TEXT NOT NULL,
-                    payment_method TEXT,
-                    created_date DATE DEFAULT CURRENT_DATE
-                )
-            """;
-
-    try (Statement stmt = connection.createStatement()) {
-        stmt.execute(createUsersTable);
-        stmt.execute(createCarsTable);
-        stmt.execute(createReservationsTable);
-        stmt.execute(createInvoicesTable);
-        
-        System.out.println("✓ All database tables created successfully");
+    private void logStorageSettings() throws SQLException {
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            System.out.println("✓ Storage profile " + pool.getProfile().describeEffective(lease.connection())
+                    + " (" + pool.getReaderCount() + " readers)");
+        }
+    }
+
+    private void migrateSchema() throws SQLException {
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            int version = new SchemaMigrator().migrate(lease.connection());
+            System.out.println("✓ Database schema at version " + version);
+        }
     }
-}
 
     private void insertDefaultData() throws SQLException {
     // Check if admin user exists
@@ -120,43 +102,42 @@ public class DatabaseManager {
 
     private void insertDefaultCars() throws SQLException {
         List<Car> defaultCars = List.of(
-                new Car("Tesla Model S", "₹10020.00", "5 Seats", "Automatic", "Electric", "Available","tesla_model_s.jpg"),
-                new Car("BMW X5", "₹7932.00", "5 Seats", "Automatic", "Hybrid", "Available", "bmw_x5.jpg"),
-                new Car("Mercedes-Benz E-Class", "₹9185.00", "5 Seats", "Automatic", "Petrol", "Available","mercedes_e_class.jpg"),
-                new Car("Audi A4", "₹7097.00", "5 Seats", "Automatic", "Diesel", "Available", "audi_a4.jpg"),
-                new Car("Toyota Camry", "₹6845.00", "5 Seats", "Automatic", "Hybrid", "Available", "toyota_camry.jpg"),
-                new Car("Ford Mustang", "₹8350.00", "4 Seats", "Manual", "Petrol", "Available", "ford_mustang.jpg"),
-                new Car("BMW M340i", "₹9350.00", "5 Seats", "Automatic", "Petrol", "Available","bmw_m340i.jpg"),
-                new Car("Lamborghini Urus", "₹25200.00", "5 Seats", "Automatic", "Petrol", "Available", "lamborghini_urus.jpg"),
-                new Car("Porsche 911 Turbo S (992)", "₹20580.00", "2 Seats", "Automatic", "Petrol", "Available","porsche_911_turbo_s.jpg"),
-                new Car("Audi Q8", "₹8200.00", "5 Seats", "Automatic", "Petrol", "Available", "audi_q8.jpg"),
-                new Car("BYD Seal", "₹6845.00", "5 Seats", "Automatic", "Electric", "Available", "byd_seal.jpg"),
-                new Car("Ferrari 488 Pista", "₹24300.00", "2 Seats", "Automatic", "Petrol", "Available", "ferrari_488_pista.jpg"),
-                new Car("Porsche Taycan", "₹10020.00", "4 Seats", "Automatic", "Electric", "Available","porsche_tycan.jpg"),
-                new Car("Lexus ES 300h", "₹7999.00", "4 Seats", "Automatic", "Hybrid", "Available", "lexus_es_300h.jpg"),
-                new Car("Range Rover Velar", "₹8800.00", "5 Seats", "Automatic", "Petrol", "Available","range_rover_velar.jpg"),
-                new Car("Toyota Land Cruiser", "₹10133.00", "5 Seats", "Automatic", "Diesel", "Available", "toyota_land_cruiser.jpg"),
-                new Car("Range Rover SVR", "₹7990.00", "5 Seats", "Automatic", "Petrol", "Available", "range_rover_svr.jpg"),
-                new Car(" BMW M2 ", "₹12350.00", "4 Seats", "Manual", "Petrol", "Available", "bmw_m2.jpg"),
-                new Car("Audi RS7", "₹13500.00", "5 Seats", "Automatic", "Petrol", "Available","audi_rs7.jpg"),
-                new Car("Jaguar f-pace", "₹7800.00", "5 Seats", "Automatic", "Petrol", "Available", "jaguar_f-pace.jpg"),
-                new Car("Lamborghini Huracan Sterrato", "₹24340.00", "2 Seats", "Automatic", "Petrol", "Available","lamborghini_huracan.jpg"),
-                new Car("Toyota Vellfire ", "₹8900.00", "7 Seats", "Automatic", "Petrol", "Available", "toyota_vellfire.jpg"),
-                new Car(" Maserati Quattroporte", "₹6788.00", "4 Seats", "Automatic", "Petrol", "Available", "maserati_quattroporte.jpg"),
-                new Car("BMW M4", "₹28352.00", "2 Seats", "Automatic", "Petrol", "Available", "bmw_m4.jpg"),
-                new Car(" Mercedes G Wagon ", "₹23456.00", "5 Seats", "Automatic", "Petrol", "Available", "mercedes_g_wagon.jpg"),
-                new Car("Mini Cooper S", "₹8998.00", "4 Seats", "Automatic", "Petrol", "Available","mii_cooper_s.jpg"),
-                new Car("Jeep Wrangler", "₹8500.00", "5 Seats", "Automatic", "Petrol", "Available", "jeep_wrangler.jpg"));
-
-        for (Car car : defaultCars) {
-            insertCar(car);
-        }
+                new Car("Tesla Model S", Money.rupees(10020), "5 Seats", "Automatic", "Electric", "Available","tesla_model_s.jpg"),
+                new Car("BMW X5", Money.rupees(7932), "5 Seats", "Automatic", "Hybrid", "Available", "bmw_x5.jpg"),
+                new Car("Mercedes-Benz E-Class", Money.rupees(9185), "5 Seats", "Automatic", "Petrol", "Available","mercedes_e_class.jpg"),
+                new Car("Audi A4", Money.rupees(7097), "5 Seats", "Automatic", "Diesel", "Available", "audi_a4.jpg"),
+                new Car("Toyota Camry", Money.rupees(6845), "5 Seats", "Automatic", "Hybrid", "Available", "toyota_camry.jpg"),
+                new Car("Ford Mustang", Money.rupees(8350), "4 Seats", "Manual", "Petrol", "Available", "ford_mustang.jpg"),
+                new Car("BMW M340i", Money.rupees(9350), "5 Seats", "Automatic", "Petrol", "Available","bmw_m340i.jpg"),
+                new Car("Lamborghini Urus", Money.rupees(25200), "5 Seats", "Automatic", "Petrol", "Available", "lamborghini_urus.jpg"),
+                new Car("Porsche 911 Turbo S (992)", Money.rupees(20580), "2 Seats", "Automatic", "Petrol", "Available","porsche_911_turbo_s.jpg"),
+                new Car("Audi Q8", Money.rupees(8200), "5 Seats", "Automatic", "Petrol", "Available", "audi_q8.jpg"),
+                new Car("BYD Seal", Money.rupees(6845), "5 Seats", "Automatic", "Electric", "Available", "byd_seal.jpg"),
+                new Car("Ferrari 488 Pista", Money.rupees(24300), "2 Seats", "Automatic", "Petrol", "Available", "ferrari_488_pista.jpg"),
+                new Car("Porsche Taycan", Money.rupees(10020), "4 Seats", "Automatic", "Electric", "Available","porsche_tycan.jpg"),
+                new Car("Lexus ES 300h", Money.rupees(7999), "4 Seats", "Automatic", "Hybrid", "Available", "lexus_es_300h.jpg"),
+                new Car("Range Rover Velar", Money.rupees(8800), "5 Seats", "Automatic", "Petrol", "Available","range_rover_velar.jpg"),
+                new Car("Toyota Land Cruiser", Money.rupees(10133), "5 Seats", "Automatic", "Diesel", "Available", "toyota_land_cruiser.jpg"),
+                new Car("Range Rover SVR", Money.rupees(7990), "5 Seats", "Automatic", "Petrol", "Available", "range_rover_svr.jpg"),
+                new Car(" BMW M2 ", Money.rupees(12350), "4 Seats", "Manual", "Petrol", "Available", "bmw_m2.jpg"),
+                new Car("Audi RS7", Money.rupees(13500), "5 Seats", "Automatic", "Petrol", "Available","audi_rs7.jpg"),
+                new Car("Jaguar f-pace", Money.rupees(7800), "5 Seats", "Automatic", "Petrol", "Available", "jaguar_f-pace.jpg"),
+                new Car("Lamborghini Huracan Sterrato", Money.rupees(24340), "2 Seats", "Automatic", "Petrol", "Available","lamborghini_huracan.jpg"),
+                new Car("Toyota Vellfire ", Money.rupees(8900), "7 Seats", "Automatic", "Petrol", "Available", "toyota_vellfire.jpg"),
+                new Car(" Maserati Quattroporte", Money.rupees(6788), "4 Seats", "Automatic", "Petrol", "Available", "maserati_quattroporte.jpg"),
+                new Car("BMW M4", Money.rupees(28352), "2 Seats", "Automatic", "Petrol", "Available", "bmw_m4.jpg"),
+                new Car(" Mercedes G Wagon ", Money.rupees(23456), "5 Seats", "Automatic", "Petrol", "Available", "mercedes_g_wagon.jpg"),
+                new Car("Mini Cooper S", Money.rupees(8998), "4 Seats", "Automatic", "Petrol", "Available","mii_cooper_s.jpg"),
+                new Car("Jeep Wrangler", Money.rupees(8500), "5 Seats", "Automatic", "Petrol", "Available", "jeep_wrangler.jpg"));
+
+        insertCars(defaultCars);
     }
 
     // User operations
     public boolean insertUser(User user) {
         String sql = "INSERT INTO users (name, email, username, password) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            PreparedStatement pstmt = lease.prepare(sql);
             pstmt.setString(1, user.getName());
             pstmt.setString(2, user.getEmail());
             pstmt.setString(3, user.getUsername());
@@ -171,17 +152,18 @@ public class DatabaseManager {
 
     public User authenticateUser(String username, String password) {
         String sql = "SELECT * FROM users WHERE username = ? AND password = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.reader()) {
+            PreparedStatement pstmt = lease.prepare(sql);
             pstmt.setString(1, username);
             pstmt.setString(2, password);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                return new User(
-                        rs.getString("name"),
-                        rs.getString("email"),
-                        rs.getString("username"),
-                        rs.getString("password"));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return new User(
+                            rs.getString("name"),
+                            rs.getString("email"),
+                            rs.getString("username"),
+                            rs.getString("password"));
+                }
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -191,10 +173,12 @@ public class DatabaseManager {
 
     public boolean userExists(String username) {
         String sql = "SELECT COUNT(*) FROM users WHERE username = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.reader()) {
+            PreparedStatement pstmt = lease.prepare(sql);
             pstmt.setString(1, username);
-            ResultSet rs = pstmt.executeQuery();
-            return rs.next() && rs.getInt(1) > 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -204,15 +188,11 @@ public class DatabaseManager {
     public List<User> getAllUsers() {
         List<User> users = new ArrayList<>();
         String sql = "SELECT * FROM users ORDER BY created_date DESC";
-        try (Statement stmt = connection.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+        try (ConnectionPool.Lease lease = pool.reader();
+                ResultSet rs = lease.prepare(sql).executeQuery()) {
 
             while (rs.next()) {
-                users.add(new User(
-                        rs.getString("name"),
-                        rs.getString("email"),
-                        rs.getString("username"),
-                        rs.getString("password")));
+                users.add(mapUser(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -220,12 +200,35 @@ public class DatabaseManager {
         return users;
     }
 
+    public Page<User> getUsersPage(PageCursor after, int pageSize, Page.Order order) {
+        return readPage("users", null, after, pageSize, order, DatabaseManager::mapUser);
+    }
+
+    public int countUsers() {
+        try (ConnectionPool.Lease lease = pool.reader();
+                ResultSet rs = lease.prepare("SELECT COUNT(*) FROM users").executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    private static User mapUser(ResultSet rs) throws SQLException {
+        return new User(
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getString("username"),
+                rs.getString("password"));
+    }
+
     public boolean deleteUser(String username) {
         if (username.equals("ADMIN"))
             return false; // Protect admin account
 
         String sql = "DELETE FROM users WHERE username = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            PreparedStatement pstmt = lease.prepare(sql);
             pstmt.setString(1, username);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -235,39 +238,77 @@ public class DatabaseManager {
     }
 
     // Car operations
+    // On success the car's id is set to its new row id
     public boolean insertCar(Car car) {
-        String sql = "INSERT INTO cars (name, price, seats, transmission, fuel_type, status, image_path) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        String sql = "INSERT INTO cars (name, price_paise, seats, transmission, fuel_type, status, image_path) VALUES (?, ?, ?, ?, ?, ?, ?) RETURNING id";
+        Car inserted;
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            PreparedStatement pstmt = lease.prepare(sql);
             pstmt.setString(1, car.getName());
-            pstmt.setString(2, car.getPrice());
+            pstmt.setLong(2, car.getPrice());
             pstmt.setString(3, car.getSeats());
             pstmt.setString(4, car.getTransmission());
             pstmt.setString(5, car.getFuelType());
             pstmt.setString(6, car.getStatus());
             pstmt.setString(7, car.getImagePath());
-            pstmt.executeUpdate();
-            return true;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                car.setId(rs.getLong(1));
+            }
+            inserted = readCar(lease, car.getId());
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
+        fireCarChange(CarChangeEvent.Type.INSERTED, inserted);
+        return true;
+    }
+
+    // Inserts the cars as one statement batch in one transaction. Returns the number inserted, or -1
+    // if the batch was rolled back. No change events are published per row; callers reload the fleet.
+    public int insertCars(List<Car> cars) {
+        String sql = "INSERT INTO cars (name, price_paise, seats, transmission, fuel_type, status, image_path) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        int inserted = 0;
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            Connection connection = lease.connection();
+            connection.setAutoCommit(false);
+            try {
+                PreparedStatement pstmt = lease.prepare(sql);
+                for (Car car : cars) {
+                    pstmt.setString(1, car.getName());
+                    pstmt.setLong(2, car.getPrice());
+                    pstmt.setString(3, car.getSeats());
+                    pstmt.setString(4, car.getTransmission());
+                    pstmt.setString(5, car.getFuelType());
+                    pstmt.setString(6, car.getStatus());
+                    pstmt.setString(7, car.getImagePath());
+                    pstmt.addBatch();
+                }
+                for (int count : pstmt.executeBatch()) {
+                    inserted += count;
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return -1;
+        }
+        return inserted;
     }
 
     public List<Car> getAllCars() {
         List<Car> cars = new ArrayList<>();
         String sql = "SELECT * FROM cars ORDER BY created_date DESC";
-        try (Statement stmt = connection.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+        try (ConnectionPool.Lease lease = pool.reader();
+                ResultSet rs = lease.prepare(sql).executeQuery()) {
 
             while (rs.next()) {
-                cars.add(new Car(
-                        rs.getString("name"),
-                        rs.getString("price"),
-                        rs.getString("seats"),
-                        rs.getString("transmission"),
-                        rs.getString("fuel_type"),
-                        rs.getString("status"),
-                        rs.getString("image_path")));
+                cars.add(mapCar(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -275,78 +316,195 @@ public class DatabaseManager {
         return cars;
     }
 
+    // Null when there is no such car
+    public Car getCar(long carId) {
+        try (ConnectionPool.Lease lease = pool.reader()) {
+            return readCar(lease, carId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    public Page<Car> getCarsPage(PageCursor after, int pageSize, Page.Order order) {
+        return readPage("cars", null, after, pageSize, order, DatabaseManager::mapCar);
+    }
+
+    private static Car mapCar(ResultSet rs) throws SQLException {
+        return new Car(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getLong("price_paise"),
+                rs.getString("seats"),
+                rs.getString("transmission"),
+                rs.getString("fuel_type"),
+                rs.getString("status"),
+                rs.getString("image_path"));
+    }
+
+    private Car readCar(ConnectionPool.Lease lease, long carId) throws SQLException {
+        PreparedStatement pstmt = lease.prepare("SELECT * FROM cars WHERE id = ?");
+        pstmt.setLong(1, carId);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? mapCar(rs) : null;
+        }
+    }
+
     public boolean updateCar(Car car) {
-        String sql = "UPDATE cars SET price = ?, seats = ?, transmission = ?, fuel_type = ?, status = ?, image_path = ? WHERE name = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, car.getPrice());
-            pstmt.setString(2, car.getSeats());
-            pstmt.setString(3, car.getTransmission());
-            pstmt.setString(4, car.getFuelType());
-            pstmt.setString(5, car.getStatus());
-            pstmt.setString(6, car.getImagePath());
-            pstmt.setString(7, car.getName());
-            return pstmt.executeUpdate() > 0;
+        String sql = "UPDATE cars SET name = ?, price_paise = ?, seats = ?, transmission = ?, fuel_type = ?, status = ?, image_path = ? WHERE id = ?";
+        Car updated;
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            PreparedStatement pstmt = lease.prepare(sql);
+            pstmt.setString(1, car.getName());
+            pstmt.setLong(2, car.getPrice());
+            pstmt.setString(3, car.getSeats());
+            pstmt.setString(4, car.getTransmission());
+            pstmt.setString(5, car.getFuelType());
+            pstmt.setString(6, car.getStatus());
+            pstmt.setString(7, car.getImagePath());
+            pstmt.setLong(8, car.getId());
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
+            updated = readCar(lease, car.getId());
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
+        fireCarChange(CarChangeEvent.Type.UPDATED, updated);
+        return true;
     }
 
-    public boolean deleteCar(String carName) {
-        String sql = "DELETE FROM cars WHERE name = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, carName);
-            return pstmt.executeUpdate() > 0;
+    // Reservations of the car keep their car_name but lose their car_id
+    public boolean deleteCar(long carId) {
+        String sql = "DELETE FROM cars WHERE id = ?";
+        Car deleted;
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            deleted = readCar(lease, carId);
+            PreparedStatement pstmt = lease.prepare(sql);
+            pstmt.setLong(1, carId);
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
+        availability.removeCar(carId);
+        holds.removeCar(carId);
+        fireCarChange(CarChangeEvent.Type.DELETED, deleted);
+        return true;
     }
 
-    public boolean updateCarStatus(String carName, String status) {
-        String sql = "UPDATE cars SET status = ? WHERE name = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, status);
-            pstmt.setString(2, carName);
-            return pstmt.executeUpdate() > 0;
+    public boolean updateCarStatus(long carId, String status) {
+        Car updated;
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            if (!writeCarStatus(lease, carId, status)) {
+                return false;
+            }
+            updated = readCar(lease, carId);
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
+        fireCarChange(CarChangeEvent.Type.UPDATED, updated);
+        return true;
+    }
+
+    private boolean writeCarStatus(ConnectionPool.Lease lease, long carId, String status) throws SQLException {
+        PreparedStatement pstmt = lease.prepare("UPDATE cars SET status = ? WHERE id = ?");
+        pstmt.setString(1, status);
+        pstmt.setLong(2, carId);
+        return pstmt.executeUpdate() > 0;
+    }
+
+    // Rewrites the car's row unchanged so the transaction holds SQLite's write lock, and returns
+    // its status, or null when the car is gone. The status only records admin out-of-service;
+    // bookings are tracked by AvailabilityIndex.
+    private String lockCar(ConnectionPool.Lease lease, long carId) throws SQLException {
+        PreparedStatement pstmt = lease.prepare("UPDATE cars SET status = status WHERE id = ? RETURNING status");
+        pstmt.setLong(1, carId);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getString(1) : null;
+        }
     }
 
     // Reservation operations
+    // On success the reservation's id is set to its new row id. An upcoming reservation that
+    // overlaps another one of the same car is refused.
     public boolean insertReservation(Reservation reservation) {
-        String sql = "INSERT INTO reservations (car_name, customer_name, start_date, end_date, total_cost, status) VALUES (?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, reservation.getCarName());
-            pstmt.setString(2, reservation.getCustomerName());
-            pstmt.setDate(3, Date.valueOf(reservation.getActualStartDate()));
-            pstmt.setDate(4, Date.valueOf(reservation.getActualEndDate()));
-            pstmt.setString(5, reservation.getTotalCost());
-            pstmt.setString(6, reservation.getStatus());
-            pstmt.executeUpdate();
+        boolean guarded = "Upcoming".equals(reservation.getStatus()) && reservation.getCarId() != 0;
+        ReentrantLock carLock = bookingLocks.forKey(reservation.getCarId());
+        carLock.lock();
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            Connection connection = lease.connection();
+            connection.setAutoCommit(false);
+            try {
+                if (guarded && findOverlap(lease, reservation) != 0) {
+                    connection.rollback();
+                    System.out.println("✗ Refused overlapping reservation of " + reservation.getCarName());
+                    return false;
+                }
+                writeReservation(lease, reservation);
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            indexReservation(reservation);
             return true;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
+        } finally {
+            carLock.unlock();
+        }
+    }
+
+    // Id of an upcoming reservation of the same car whose days intersect the given one's, or 0.
+    // Days are half-open as in AvailabilityIndex: [start, end), or just the start day when end <= start.
+    // Run it inside the write transaction so no other connection can book in between.
+    private long findOverlap(ConnectionPool.Lease lease, Reservation reservation) throws SQLException {
+        LocalDate start = reservation.getActualStartDate();
+        LocalDate end = AvailabilityIndex.releaseDay(start, reservation.getActualEndDate());
+        String sql = "SELECT id FROM reservations WHERE car_id = ? AND status = 'Upcoming' AND start_date < ? "
+                + "AND (end_date > ? OR start_date >= ?) LIMIT 1";
+        PreparedStatement pstmt = lease.prepare(sql);
+        pstmt.setLong(1, reservation.getCarId());
+        pstmt.setDate(2, Date.valueOf(end));
+        pstmt.setDate(3, Date.valueOf(start));
+        pstmt.setDate(4, Date.valueOf(start));
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private void writeReservation(ConnectionPool.Lease lease, Reservation reservation) throws SQLException {
+        String sql = "INSERT INTO reservations (car_id, car_name, customer_name, start_date, end_date, total_cost_paise, status) VALUES (?, ?, ?, ?, ?, ?, ?) RETURNING id";
+        PreparedStatement pstmt = lease.prepare(sql);
+        pstmt.setLong(1, reservation.getCarId());
+        pstmt.setString(2, reservation.getCarName());
+        pstmt.setString(3, reservation.getCustomerName());
+        pstmt.setDate(4, Date.valueOf(reservation.getActualStartDate()));
+        pstmt.setDate(5, Date.valueOf(reservation.getActualEndDate()));
+        pstmt.setLong(6, reservation.getTotalCost());
+        pstmt.setString(7, reservation.getStatus());
+        try (ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            reservation.setId(rs.getLong(1));
         }
     }
 
     public List<Reservation> getAllReservations() {
         List<Reservation> reservations = new ArrayList<>();
         String sql = "SELECT * FROM reservations ORDER BY created_date DESC";
-        try (Statement stmt = connection.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+        try (ConnectionPool.Lease lease = pool.reader();
+                ResultSet rs = lease.prepare(sql).executeQuery()) {
 
             while (rs.next()) {
-                reservations.add(new Reservation(
-                        rs.getString("car_name"),
-                        rs.getDate("start_date").toLocalDate(),
-                        rs.getDate("end_date").toLocalDate(),
-                        rs.getString("total_cost"),
-                        rs.getString("status"),
-                        rs.getString("customer_name")));
+                reservations.add(mapReservation(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -357,18 +515,60 @@ public class DatabaseManager {
     public List<Reservation> getUserReservations(String customerName) {
         List<Reservation> reservations = new ArrayList<>();
         String sql = "SELECT * FROM reservations WHERE customer_name = ? ORDER BY created_date DESC";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.reader()) {
+            PreparedStatement pstmt = lease.prepare(sql);
             pstmt.setString(1, customerName);
-            ResultSet rs = pstmt.executeQuery();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    reservations.add(mapReservation(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return reservations;
+    }
+
+    // Null when there is no such reservation
+    public Reservation getReservation(long reservationId) {
+        String sql = "SELECT * FROM reservations WHERE id = ?";
+        try (ConnectionPool.Lease lease = pool.reader()) {
+            PreparedStatement pstmt = lease.prepare(sql);
+            pstmt.setLong(1, reservationId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapReservation(rs) : null;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // customerName narrows the page to one customer; null pages over all reservations
+    public Page<Reservation> getReservationsPage(String customerName, PageCursor after, int pageSize, Page.Order order) {
+        return readPage("reservations", customerName, after, pageSize, order, DatabaseManager::mapReservation);
+    }
+
+    private static Reservation mapReservation(ResultSet rs) throws SQLException {
+        return new Reservation(
+                rs.getLong("id"),
+                rs.getLong("car_id"),
+                rs.getString("car_name"),
+                rs.getDate("start_date").toLocalDate(),
+                rs.getDate("end_date").toLocalDate(),
+                rs.getLong("total_cost_paise"),
+                rs.getString("status"),
+                rs.getString("customer_name"));
+    }
+
+    public List<Reservation> getUpcomingReservations() {
+        List<Reservation> reservations = new ArrayList<>();
+        String sql = "SELECT * FROM reservations WHERE status = 'Upcoming' ORDER BY end_date";
+        try (ConnectionPool.Lease lease = pool.reader();
+                ResultSet rs = lease.prepare(sql).executeQuery()) {
 
             while (rs.next()) {
-                reservations.add(new Reservation(
-                        rs.getString("car_name"),
-                        rs.getDate("start_date").toLocalDate(),
-                        rs.getDate("end_date").toLocalDate(),
-                        rs.getString("total_cost"),
-                        rs.getString("status"),
-                        rs.getString("customer_name")));
+                reservations.add(mapReservation(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -376,65 +576,204 @@ public class DatabaseManager {
         return reservations;
     }
 
-    public boolean deleteReservation(String carName, String customerName) {
-        String sql = "DELETE FROM reservations WHERE car_name = ? AND customer_name = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, carName);
-            pstmt.setString(2, customerName);
-            return pstmt.executeUpdate() > 0;
+    // Marks an upcoming reservation as completed and frees its dates. The car's status is left
+    // alone: it only records whether an admin took the car out of service.
+    public boolean completeReservation(long reservationId) {
+        String sql = "UPDATE reservations SET status = 'Completed' WHERE id = ? AND status = 'Upcoming' RETURNING car_id";
+        long carId;
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            PreparedStatement pstmt = lease.prepare(sql);
+            pstmt.setLong(1, reservationId);
+            // The write only completes once its RETURNING rows are closed
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                // 0 when the car has been deleted since the booking
+                carId = rs.getLong(1);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
+        if (carId != 0) {
+            reindexCar(carId);
+            fireCarChange(carId);
+        }
+        return true;
+    }
+
+    public AvailabilityIndex getAvailability() {
+        return availability;
+    }
+
+    private void loadAvailability() {
+        availability.clear();
+        for (Reservation reservation : getUpcomingReservations()) {
+            indexReservation(reservation);
+        }
+    }
+
+    // Reservations whose car was deleted (car id 0) hold no car and are not indexed
+    private void indexReservation(Reservation reservation) {
+        if (!"Upcoming".equals(reservation.getStatus()) || reservation.getActualEndDate() == null
+                || reservation.getCarId() == 0) {
+            return;
+        }
+        availability.add(reservation.getCarId(), reservation.getId(), reservation.getActualStartDate(),
+                reservation.getActualEndDate());
+    }
+
+    // Re-reads the upcoming reservations of one car after a write touched it
+    private void reindexCar(long carId) {
+        if (carId == 0) {
+            return;
+        }
+        String sql = "SELECT * FROM reservations WHERE car_id = ? AND status = 'Upcoming'";
+        List<Reservation> upcoming = new ArrayList<>();
+        try (ConnectionPool.Lease lease = pool.reader()) {
+            PreparedStatement pstmt = lease.prepare(sql);
+            pstmt.setLong(1, carId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    upcoming.add(mapReservation(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return;
+        }
+        availability.replaceCar(carId, upcoming);
     }
 
-    public boolean updateReservationStatus(String carName, String customerName, String status) {
-        String sql = "UPDATE reservations SET status = ? WHERE car_name = ? AND customer_name = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+    // Deletes the reservation, unlinking its invoice in the same statement, and frees its dates.
+    // The car's status is left alone: it only records whether an admin took the car out of service.
+    public boolean deleteReservation(long reservationId) {
+        String sql = "DELETE FROM reservations WHERE id = ? RETURNING car_id";
+        long carId;
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            PreparedStatement pstmt = lease.prepare(sql);
+            pstmt.setLong(1, reservationId);
+            // The write only completes once its RETURNING rows are closed
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                carId = rs.getLong(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+        // 0 when the car has been deleted since the booking
+        if (carId != 0) {
+            reindexCar(carId);
+            fireCarChange(carId);
+        }
+        return true;
+    }
+
+    // Deletes the reservations of customerName (every customer when null) in one statement and
+    // frees the dates of the deleted upcoming ones. Car statuses are left alone. Returns the
+    // number of reservations deleted, or -1 on failure.
+    public int clearReservations(String customerName) {
+        String customerFilter = customerName == null ? "" : " WHERE customer_name = ?";
+        String sql = "DELETE FROM reservations" + customerFilter + " RETURNING car_id, status";
+        Set<Long> freed = new LinkedHashSet<>();
+        int deleted = 0;
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            PreparedStatement pstmt = lease.prepare(sql);
+            if (customerName != null) {
+                pstmt.setString(1, customerName);
+            }
+            // The write only completes once its RETURNING rows are closed
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    deleted++;
+                    long carId = rs.getLong("car_id");
+                    if (carId != 0 && "Upcoming".equals(rs.getString("status"))) {
+                        freed.add(carId);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return -1;
+        }
+        for (long carId : freed) {
+            reindexCar(carId);
+            fireCarChange(carId);
+        }
+        return deleted;
+    }
+
+    public boolean updateReservationStatus(long reservationId, String status) {
+        String sql = "UPDATE reservations SET status = ? WHERE id = ? RETURNING car_id";
+        long carId;
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            PreparedStatement pstmt = lease.prepare(sql);
             pstmt.setString(1, status);
-            pstmt.setString(2, carName);
-            pstmt.setString(3, customerName);
-            return pstmt.executeUpdate() > 0;
+            pstmt.setLong(2, reservationId);
+            // The write only completes once its RETURNING rows are closed
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                // 0 when the car has been deleted since the booking
+                carId = rs.getLong(1);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
+        if (carId != 0) {
+            reindexCar(carId);
+            fireCarChange(carId);
+        }
+        return true;
     }
 
     // Invoice operations
+    // On success the invoice's id is set to its new row id
     public boolean insertInvoice(Invoice invoice) {
-    String sql = "INSERT INTO invoices (invoice_id, car_name, rental_period, total, issue_date, customer_name, payment_method) VALUES (?, ?, ?, ?, ?, ?, ?)";
-    try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            writeInvoice(lease, invoice);
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private void writeInvoice(ConnectionPool.Lease lease, Invoice invoice) throws SQLException {
+        String sql = "INSERT INTO invoices (invoice_id, reservation_id, car_name, rental_period, total_paise, issue_date, customer_name, payment_method) VALUES (?, ?, ?, ?, ?, ?, ?, ?) RETURNING id";
+        PreparedStatement pstmt = lease.prepare(sql);
         pstmt.setString(1, invoice.getInvoiceId());
-        pstmt.setString(2, invoice.getCarName());
-        pstmt.setString(3, invoice.getRentalPeriod());
-        pstmt.setString(4, invoice.getTotal());
-        pstmt.setString(5, invoice.getDate());
-        pstmt.setString(6, invoice.getCustomerName());
-        pstmt.setString(7, invoice.getPaymentMethod());
-        pstmt.executeUpdate();
-        return true;
-    } catch (SQLException e) {
-        e.printStackTrace();
-        return false;
+        if (invoice.getReservationId() == 0) {
+            pstmt.setNull(2, Types.INTEGER);
+        } else {
+            pstmt.setLong(2, invoice.getReservationId());
+        }
+        pstmt.setString(3, invoice.getCarName());
+        pstmt.setString(4, invoice.getRentalPeriod());
+        pstmt.setLong(5, invoice.getTotal());
+        pstmt.setString(6, invoice.getDate());
+        pstmt.setString(7, invoice.getCustomerName());
+        pstmt.setString(8, invoice.getPaymentMethod());
+        try (ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            invoice.setId(rs.getLong(1));
+        }
     }
-}
 
     public List<Invoice> getAllInvoices() {
         List<Invoice> invoices = new ArrayList<>();
         String sql = "SELECT * FROM invoices ORDER BY created_date DESC";
-        try (Statement stmt = connection.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+        try (ConnectionPool.Lease lease = pool.reader();
+                ResultSet rs = lease.prepare(sql).executeQuery()) {
 
             while (rs.next()) {
-                invoices.add(new Invoice(
-                        rs.getString("invoice_id"),
-                        rs.getString("car_name"),
-                        rs.getString("rental_period"),
-                        rs.getString("total"),
-                        rs.getString("issue_date"),
-                        rs.getString("customer_name"),
-                        rs.getString("payment_method")));
+                invoices.add(mapInvoice(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -445,19 +784,13 @@ public class DatabaseManager {
     public List<Invoice> getUserInvoices(String customerName) {
     List<Invoice> invoices = new ArrayList<>();
     String sql = "SELECT * FROM invoices WHERE customer_name = ? ORDER BY created_date DESC";
-    try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+    try (ConnectionPool.Lease lease = pool.reader()) {
+        PreparedStatement pstmt = lease.prepare(sql);
         pstmt.setString(1, customerName);
-        ResultSet rs = pstmt.executeQuery();
-
-        while (rs.next()) {
-            invoices.add(new Invoice(
-                    rs.getString("invoice_id"),
-                    rs.getString("car_name"),
-                    rs.getString("rental_period"),
-                    rs.getString("total"),
-                    rs.getString("issue_date"),
-                    rs.getString("customer_name"),
-                    rs.getString("payment_method")));
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                invoices.add(mapInvoice(rs));
+            }
         }
     } catch (SQLException e) {
         e.printStackTrace();
@@ -465,22 +798,33 @@ public class DatabaseManager {
     return invoices;
 }
 
-public Invoice getInvoiceByReservation(String carName, String customerName) {
-    String sql = "SELECT * FROM invoices WHERE car_name = ? AND customer_name = ? ORDER BY created_date DESC LIMIT 1";
-    try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-        pstmt.setString(1, carName);
-        pstmt.setString(2, customerName);
-        ResultSet rs = pstmt.executeQuery();
-
-        if (rs.next()) {
-            return new Invoice(
-                    rs.getString("invoice_id"),
-                    rs.getString("car_name"),
-                    rs.getString("rental_period"),
-                    rs.getString("total"),
-                    rs.getString("issue_date"),
-                    rs.getString("customer_name"),
-                    rs.getString("payment_method"));
+    // customerName narrows the page to one customer; null pages over all invoices
+    public Page<Invoice> getInvoicesPage(String customerName, PageCursor after, int pageSize, Page.Order order) {
+        return readPage("invoices", customerName, after, pageSize, order, DatabaseManager::mapInvoice);
+    }
+
+    private static Invoice mapInvoice(ResultSet rs) throws SQLException {
+        return new Invoice(
+                rs.getLong("id"),
+                rs.getLong("reservation_id"),
+                rs.getString("invoice_id"),
+                rs.getString("car_name"),
+                rs.getString("rental_period"),
+                rs.getLong("total_paise"),
+                rs.getString("issue_date"),
+                rs.getString("customer_name"),
+                rs.getString("payment_method"));
+    }
+
+public Invoice getInvoiceByReservation(long reservationId) {
+    String sql = "SELECT * FROM invoices WHERE reservation_id = ? ORDER BY id DESC LIMIT 1";
+    try (ConnectionPool.Lease lease = pool.reader()) {
+        PreparedStatement pstmt = lease.prepare(sql);
+        pstmt.setLong(1, reservationId);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            if (rs.next()) {
+                return mapInvoice(rs);
+            }
         }
     } catch (SQLException e) {
         e.printStackTrace();
@@ -488,9 +832,28 @@ public Invoice getInvoiceByReservation(String carName, String customerName) {
     return null;
 }
 
+    // Deletes the invoices of customerName (every customer when null) in one statement.
+    // Returns the number of invoices deleted, or -1 on failure.
+    public int clearInvoices(String customerName) {
+        String sql = customerName == null
+                ? "DELETE FROM invoices"
+                : "DELETE FROM invoices WHERE customer_name = ?";
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            PreparedStatement pstmt = lease.prepare(sql);
+            if (customerName != null) {
+                pstmt.setString(1, customerName);
+            }
+            return pstmt.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
     public boolean deleteInvoice(String invoiceId) {
         String sql = "DELETE FROM invoices WHERE invoice_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            PreparedStatement pstmt = lease.prepare(sql);
             pstmt.setString(1, invoiceId);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -499,14 +862,368 @@ public Invoice getInvoiceByReservation(String carName, String customerName) {
         }
     }
 
-    // Utility methods
-    public void closeConnection() {
+    // Booking operations
+
+    // Writes the reservation and its invoice in one transaction. An invoice without an id gets
+    // the next number of the current year's sequence, and is linked to the new reservation's
+    // row id. A car set Unavailable by an admin is refused with CONFLICT.
+    //
+    // Bookings of the same car are serialized by its lock stripe, and the status and overlap
+    // checks run after the transaction's first write, when SQLite already holds the write lock,
+    // so of two overlapping bookings exactly one succeeds even across processes, and an admin
+    // taking the car out of service cannot slip in between. The other gets CONFLICT.
+    public BookingResult bookCar(Reservation reservation, Invoice invoice) {
+        ReentrantLock carLock = bookingLocks.forKey(reservation.getCarId());
+        carLock.lock();
+        try {
+            return bookCarLocked(reservation, invoice);
+        } finally {
+            carLock.unlock();
+        }
+    }
+
+    private BookingResult bookCarLocked(Reservation reservation, Invoice invoice) {
+        // Cheap early answer from memory; the database check below is the one that counts
+        if (!availability.isFree(reservation.getCarId(), reservation.getActualStartDate(), reservation.getActualEndDate())) {
+            return conflict(reservation);
+        }
+        if (holds.isHeld(reservation.getCarId(), reservation.getActualStartDate(), reservation.getActualEndDate(),
+                reservation.getCustomerName())) {
+            return heldConflict(reservation);
+        }
+        Car booked;
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            Connection connection = lease.connection();
+            connection.setAutoCommit(false);
+            try {
+                String status = lockCar(lease, reservation.getCarId());
+                if (status == null) {
+                    connection.rollback();
+                    return BookingResult.failed("Car " + reservation.getCarName() + " no longer exists.");
+                }
+                if (status.equals("Unavailable")) {
+                    connection.rollback();
+                    return BookingResult.conflict(reservation.getCarName() + " is out of service.");
+                }
+                if (findOverlap(lease, reservation) != 0) {
+                    connection.rollback();
+                    return conflict(reservation);
+                }
+                if (isHeldByOther(lease, reservation)) {
+                    connection.rollback();
+                    return heldConflict(reservation);
+                }
+                if (invoice.getInvoiceId() == null) {
+                    int year = LocalDate.now().getYear();
+                    invoice.setInvoiceId(InvoiceSequence.format(year, invoiceSequence.next(lease, year)));
+                }
+                writeReservation(lease, reservation);
+                invoice.setReservationId(reservation.getId());
+                writeInvoice(lease, invoice);
+                deleteCustomerHolds(lease, reservation.getCarId(), reservation.getCustomerName());
+                connection.commit();
+                booked = readCar(lease, reservation.getCarId());
+            } catch (SQLException e) {
+                connection.rollback();
+                invoiceSequence.discardBlocks();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return BookingResult.failed("Failed to create reservation. Please try again.");
+        }
+        indexReservation(reservation);
+        holds.releaseCustomer(reservation.getCarId(), reservation.getCustomerName());
+        fireCarChange(CarChangeEvent.Type.UPDATED, booked);
+        return BookingResult.booked(reservation, invoice);
+    }
+
+    private static BookingResult conflict(Reservation reservation) {
+        return BookingResult.conflict(reservation.getCarName() + " is already booked for part of "
+                + reservation.getStartDate() + " – " + reservation.getEndDate() + ".");
+    }
+
+    private static BookingResult heldConflict(Reservation reservation) {
+        return BookingResult.conflict(reservation.getCarName() + " is on hold for another customer for part of "
+                + reservation.getStartDate() + " – " + reservation.getEndDate() + ".");
+    }
+
+    // Hold operations
+    // Holds the car's dates for customerName for HOLD_SECONDS while they pay. Returns null when
+    // the dates are booked, held by another customer, or the hold could not be stored. The
+    // decision is made in memory without locking; the row only makes the hold outlast a restart.
+    public CarHold placeHold(long carId, String customerName, LocalDate start, LocalDate end) {
+        if (!availability.isFree(carId, start, end)) {
+            return null;
+        }
+        CarHold hold = new CarHold(carId, customerName, start, end,
+                Instant.now().plusSeconds(HOLD_SECONDS));
+        if (!holds.tryPlace(hold)) {
+            return null;
+        }
+        String sql = "INSERT INTO holds (car_id, customer_name, start_date, end_date, expires_at) "
+                + "VALUES (?, ?, ?, ?, ?) RETURNING id";
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            PreparedStatement pstmt = lease.prepare(sql);
+            pstmt.setLong(1, carId);
+            pstmt.setString(2, customerName);
+            pstmt.setDate(3, Date.valueOf(start));
+            pstmt.setDate(4, Date.valueOf(end));
+            pstmt.setLong(5, hold.getExpiresAt().toEpochMilli());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    hold.setId(rs.getLong(1));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            holds.release(hold);
+            return null;
+        }
+        fireCarChange(carId);
+        return hold;
+    }
+
+    // Gives the dates back when the customer leaves the payment step; a hold that already
+    // expired or was used by bookCar is left alone
+    public void releaseHold(CarHold hold) {
+        if (hold == null || !holds.release(hold)) {
+            return;
+        }
+        deleteHold(hold);
+        fireCarChange(hold.getCarId());
+    }
+
+    public HoldManager getHolds() {
+        return holds;
+    }
+
+    // Runs on the hold expiry thread
+    private void onHoldExpired(CarHold hold) {
+        deleteHold(hold);
+        System.out.println("✓ Hold on car " + hold.getCarId() + " for " + hold.getCustomerName() + " expired");
+        fireCarChange(hold.getCarId());
+    }
+
+    private void deleteHold(CarHold hold) {
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            PreparedStatement pstmt = lease.prepare("DELETE FROM holds WHERE id = ?");
+            pstmt.setLong(1, hold.getId());
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void deleteCustomerHolds(ConnectionPool.Lease lease, long carId, String customerName)
+            throws SQLException {
+        PreparedStatement pstmt = lease.prepare("DELETE FROM holds WHERE car_id = ? AND customer_name = ?");
+        pstmt.setLong(1, carId);
+        pstmt.setString(2, customerName);
+        pstmt.executeUpdate();
+    }
+
+    // The database side of the hold check, so holds placed by another process count too
+    private boolean isHeldByOther(ConnectionPool.Lease lease, Reservation reservation) throws SQLException {
+        LocalDate start = reservation.getActualStartDate();
+        LocalDate end = AvailabilityIndex.releaseDay(start, reservation.getActualEndDate());
+        String sql = "SELECT 1 FROM holds WHERE car_id = ? AND customer_name <> ? AND expires_at > ? "
+                + "AND start_date < ? AND (end_date > ? OR start_date >= ?) LIMIT 1";
+        PreparedStatement pstmt = lease.prepare(sql);
+        pstmt.setLong(1, reservation.getCarId());
+        pstmt.setString(2, reservation.getCustomerName());
+        pstmt.setLong(3, System.currentTimeMillis());
+        pstmt.setDate(4, Date.valueOf(end));
+        pstmt.setDate(5, Date.valueOf(start));
+        pstmt.setDate(6, Date.valueOf(start));
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next();
+        }
+    }
+
+    // Drops holds that expired while the app was closed and brings the rest back into memory
+    private void loadHolds() throws SQLException {
+        holds.clear();
+        long now = System.currentTimeMillis();
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            PreparedStatement delete = lease.prepare("DELETE FROM holds WHERE expires_at <= ?");
+            delete.setLong(1, now);
+            delete.executeUpdate();
+            PreparedStatement select = lease.prepare("SELECT * FROM holds");
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    holds.tryPlace(new CarHold(rs.getLong("id"), rs.getLong("car_id"), rs.getString("customer_name"),
+                            rs.getDate("start_date").toLocalDate(), rs.getDate("end_date").toLocalDate(),
+                            Instant.ofEpochMilli(rs.getLong("expires_at"))));
+                }
+            }
+        }
+    }
+
+    // Keyset pagination
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    // Pages over (created_date, id), which the created_date indexes serve directly since SQLite
+    // index entries end with the rowid. One extra row is read to tell whether another page exists.
+    // A failed query logs and returns an empty last page, so callers never see null.
+    private <T> Page<T> readPage(String table, String customerName, PageCursor after, int pageSize,
+            Page.Order order, RowMapper<T> mapper) {
+        boolean newestFirst = order == Page.Order.NEWEST_FIRST;
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(table).append(" WHERE 1 = 1");
+        if (customerName != null) {
+            sql.append(" AND customer_name = ?");
+        }
+        if (after != null) {
+            sql.append(newestFirst ? " AND (created_date, id) < (?, ?)" : " AND (created_date, id) > (?, ?)");
+        }
+        sql.append(newestFirst ? " ORDER BY created_date DESC, id DESC" : " ORDER BY created_date, id");
+        sql.append(" LIMIT ?");
+
+        try (ConnectionPool.Lease lease = pool.reader()) {
+            PreparedStatement pstmt = lease.prepare(sql.toString());
+            int param = 1;
+            if (customerName != null) {
+                pstmt.setString(param++, customerName);
+            }
+            if (after != null) {
+                pstmt.setString(param++, after.getCreatedDate());
+                pstmt.setLong(param++, after.getId());
+            }
+            pstmt.setInt(param, pageSize + 1);
+
+            List<T> items = new ArrayList<>(pageSize);
+            PageCursor last = null;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (items.size() == pageSize) {
+                        return new Page<>(items, last);
+                    }
+                    items.add(mapper.map(rs));
+                    last = new PageCursor(rs.getString("created_date"), rs.getLong("id"));
+                }
+            }
+            return new Page<>(items, null);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return new Page<>(List.of(), null);
+        }
+    }
+
+    // Streaming reads
+    //
+    // Each stream keeps a reader lease and an open ResultSet until it is closed, so callers
+    // must use try-with-resources. Rows are mapped one at a time as the stream is consumed,
+    // which keeps memory flat however large the table is. A read error midway throws
+    // IllegalStateException rather than silently ending the stream early.
+    public Stream<User> streamUsers(int fetchSize) {
+        return streamRows("SELECT * FROM users ORDER BY id", null, fetchSize, DatabaseManager::mapUser);
+    }
+
+    public Stream<Car> streamCars(int fetchSize) {
+        return streamRows("SELECT * FROM cars ORDER BY id", null, fetchSize, DatabaseManager::mapCar);
+    }
+
+    // customerName narrows the stream to one customer; null streams every reservation
+    public Stream<Reservation> streamReservations(String customerName, int fetchSize) {
+        String sql = customerName == null
+                ? "SELECT * FROM reservations ORDER BY id"
+                : "SELECT * FROM reservations WHERE customer_name = ? ORDER BY id";
+        return streamRows(sql, customerName, fetchSize, DatabaseManager::mapReservation);
+    }
+
+    // customerName narrows the stream to one customer; null streams every invoice
+    public Stream<Invoice> streamInvoices(String customerName, int fetchSize) {
+        String sql = customerName == null
+                ? "SELECT * FROM invoices ORDER BY id"
+                : "SELECT * FROM invoices WHERE customer_name = ? ORDER BY id";
+        return streamRows(sql, customerName, fetchSize, DatabaseManager::mapInvoice);
+    }
+
+    private <T> Stream<T> streamRows(String sql, String customerName, int fetchSize, RowMapper<T> mapper) {
+        ConnectionPool.Lease lease;
+        try {
+            lease = pool.reader();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return Stream.empty();
+        }
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
+            PreparedStatement pstmt = lease.prepare(sql);
+            pstmt.setFetchSize(fetchSize);
+            if (customerName != null) {
+                pstmt.setString(1, customerName);
             }
+            ResultSet rs = pstmt.executeQuery();
+            Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(mapper.map(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new IllegalStateException("Failed to read from " + sql, e);
+                    }
+                }
+            };
+            return StreamSupport.stream(rows, false).onClose(() -> {
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                } finally {
+                    lease.close();
+                }
+            });
         } catch (SQLException e) {
+            lease.close();
             e.printStackTrace();
+            return Stream.empty();
+        }
+    }
+
+    // Car change notifications
+    public void addCarChangeListener(CarChangeListener listener) {
+        carChangeListeners.add(listener);
+    }
+
+    public void removeCarChangeListener(CarChangeListener listener) {
+        carChangeListeners.remove(listener);
+    }
+
+    // For changes outside the cars row, such as a hold or reservation: republishes the car so views redraw it
+    private void fireCarChange(long carId) {
+        fireCarChange(CarChangeEvent.Type.UPDATED, getCar(carId));
+    }
+
+    private void fireCarChange(CarChangeEvent.Type type, Car car) {
+        if (car == null) {
+            return;
+        }
+        CarChangeEvent event = new CarChangeEvent(type, car);
+        for (CarChangeListener listener : carChangeListeners) {
+            listener.carChanged(event);
+        }
+    }
+
+    // Utility methods
+    public String getStatementCacheStats() {
+        return "hits=" + pool.getStatementCacheHits() + ", misses=" + pool.getStatementCacheMisses()
+                + ", evictions=" + pool.getStatementCacheEvictions();
+    }
+
+    public void closeConnection() {
+        holds.shutdown();
+        if (pool != null) {
+            pool.close();
         }
     }
 
@@ -0,0 +1,110 @@
+package rentwheels;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// Hashed timing wheel of hold deadlines; not thread-safe on its own, HoldManager guards it
+final class ExpiryWheel<T> {
+    private final long tickMillis;
+    private final List<List<Entry<T>>> slots;
+    private long lastTick;
+    private int size;
+
+    ExpiryWheel(int slotCount, long tickMillis, long nowMillis) {
+        if (slotCount < 1 || tickMillis < 1) {
+            throw new IllegalArgumentException("slotCount and tickMillis must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.lastTick = nowMillis / tickMillis;
+    }
+
+    void add(T item, long deadlineMillis) {
+        // Round up so nothing comes out before its deadline; overdue items go to the next tick
+        long tick = Math.max(ceilDiv(deadlineMillis, tickMillis), lastTick + 1);
+        slotOf(tick).add(new Entry<>(item, deadlineMillis));
+        size++;
+    }
+
+    boolean cancel(T item, long deadlineMillis) {
+        long tick = Math.max(ceilDiv(deadlineMillis, tickMillis), lastTick + 1);
+        if (removeFrom(slotOf(tick), item)) {
+            return true;
+        }
+        // Added while overdue it may sit in a later slot than its deadline suggests; rare, so scan
+        for (List<Entry<T>> slot : slots) {
+            if (removeFrom(slot, item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Removes and returns every item whose deadline is at or before the start of nowMillis's tick
+    List<T> expire(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        long nowTick = nowMillis / tickMillis;
+        // After a long pause every slot is due for a look, but only once
+        long from = Math.max(lastTick + 1, nowTick - slots.size() + 1);
+        for (long tick = from; tick <= nowTick && size > 0; tick++) {
+            Iterator<Entry<T>> it = slotOf(tick).iterator();
+            while (it.hasNext()) {
+                Entry<T> entry = it.next();
+                if (entry.deadlineMillis() <= nowMillis) {
+                    it.remove();
+                    size--;
+                    due.add(entry.item());
+                }
+            }
+        }
+        lastTick = Math.max(lastTick, nowTick);
+        return due;
+    }
+
+    void clear() {
+        for (List<Entry<T>> slot : slots) {
+            slot.clear();
+        }
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Start of the tick after the last one processed
+    long nextTickMillis() {
+        return (lastTick + 1) * tickMillis;
+    }
+
+    private List<Entry<T>> slotOf(long tick) {
+        return slots.get((int) Math.floorMod(tick, (long) slots.size()));
+    }
+
+    private boolean removeFrom(List<Entry<T>> slot, T item) {
+        Iterator<Entry<T>> it = slot.iterator();
+        while (it.hasNext()) {
+            if (it.next().item() == item) {
+                it.remove();
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    private record Entry<T>(T item, long deadlineMillis) {
+    }
+}
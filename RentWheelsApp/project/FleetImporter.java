@@ -0,0 +1,236 @@
+package rentwheels;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+// Bulk-loads cars from a CSV fleet file with a header row, or a JSON array of car objects.
+// The whole file is parsed and validated first, then written in batches of their own transactions.
+public class FleetImporter {
+    public static final int DEFAULT_BATCH_SIZE = Integer.getInteger("rentwheels.import.batchSize", 500);
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+    private static final List<String> STATUSES = List.of("Available", "Unavailable");
+    private static final List<String> REQUIRED_FIELDS = List.of("name", "price", "seats", "transmission", "fuel_type");
+    private static final String DEFAULT_IMAGE = "default_car.jpg";
+
+    private final DatabaseManager dbManager;
+    private final int batchSize;
+
+    public FleetImporter(DatabaseManager dbManager) {
+        this(dbManager, DEFAULT_BATCH_SIZE);
+    }
+
+    public FleetImporter(DatabaseManager dbManager, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.dbManager = dbManager;
+        this.batchSize = batchSize;
+    }
+
+    // Picks the format from the extension: .json is a JSON array, anything else is CSV
+    public ImportReport importFile(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json")
+                ? importJson(file)
+                : importCsv(file);
+    }
+
+    public ImportReport importCsv(Path file) {
+        long start = System.nanoTime();
+        ParsedCars parsed = new ParsedCars();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return failed("the file is empty", start);
+            }
+            Map<String, Integer> columns = readHeader(header);
+            for (String required : REQUIRED_FIELDS) {
+                if (!columns.containsKey(required)) {
+                    return failed("missing column '" + required + "'", start);
+                }
+            }
+
+            int lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    List<String> fields = splitCsvLine(line);
+                    parsed.add("line " + lineNumber, column -> {
+                        Integer index = columns.get(column);
+                        return index == null || index >= fields.size() ? "" : fields.get(index);
+                    });
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return failed("could not read " + file.getFileName() + ": " + e.getMessage(), start);
+        }
+        return write(parsed, start);
+    }
+
+    // Expects [{"name": ..., "price": ..., "seats": ..., ...}, ...] with the CSV column names as keys
+    public ImportReport importJson(Path file) {
+        long start = System.nanoTime();
+        List<Map<String, String>> objects;
+        try {
+            String text = Files.readString(file, StandardCharsets.UTF_8);
+            objects = Json.parseFlatArray(text.startsWith("\uFEFF") ? text.substring(1) : text);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return failed("could not read " + file.getFileName() + ": " + e.getMessage(), start);
+        } catch (IllegalArgumentException e) {
+            return failed("not a JSON array of cars: " + e.getMessage(), start);
+        }
+        if (objects.isEmpty()) {
+            return failed("the file has no cars", start);
+        }
+
+        ParsedCars parsed = new ParsedCars();
+        for (int i = 0; i < objects.size(); i++) {
+            Map<String, String> object = objects.get(i);
+            parsed.add("car " + (i + 1), object::get);
+        }
+        return write(parsed, start);
+    }
+
+    // Each batch commits on its own, so the writer is free for bookings between batches; a failed
+    // batch stops the import and leaves the batches before it in place
+    private ImportReport write(ParsedCars parsed, long start) {
+        int inserted = 0;
+        for (int from = 0; from < parsed.cars.size(); from += batchSize) {
+            List<Car> batch = parsed.cars.subList(from, Math.min(from + batchSize, parsed.cars.size()));
+            if (dbManager.insertCars(batch) < 0) {
+                return new ImportReport(false, inserted, parsed.rejectedCount, parsed.rejections,
+                        System.nanoTime() - start, inserted == 0
+                                ? "the database rejected the batch, nothing was imported"
+                                : "the database rejected a batch after " + inserted + " cars were imported");
+            }
+            inserted += batch.size();
+        }
+        System.out.println("✓ Fleet import: " + inserted + " cars, " + parsed.rejectedCount + " rejected");
+        return new ImportReport(true, inserted, parsed.rejectedCount, parsed.rejections, System.nanoTime() - start,
+                null);
+    }
+
+    private static ImportReport failed(String error, long start) {
+        return new ImportReport(false, 0, 0, List.of(), System.nanoTime() - start, error);
+    }
+
+    private static Map<String, Integer> readHeader(String header) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsvLine(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    // Validates one data row; returns the rejection reason, or null when the car is valid
+    private static String validate(String name, String price, String seats, String transmission, String fuelType,
+            String status) {
+        if (name.isEmpty()) {
+            return "name is empty";
+        }
+        if (price.isEmpty()) {
+            return "price is empty";
+        }
+        try {
+            if (Money.parse(price) <= 0) {
+                return "price must be positive";
+            }
+        } catch (NumberFormatException e) {
+            return "price '" + price + "' is not a number";
+        }
+        if (CarCatalog.parseSeats(seats) <= 0) {
+            return "seats '" + seats + "' is not a seat count";
+        }
+        if (transmission.isEmpty()) {
+            return "transmission is empty";
+        }
+        if (fuelType.isEmpty()) {
+            return "fuel_type is empty";
+        }
+        if (!STATUSES.contains(status)) {
+            return "status '" + status + "' is not one of " + STATUSES;
+        }
+        return null;
+    }
+
+    // Splits one CSV line, honouring double quotes and "" escapes
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Valid cars in file order, plus the reasons the other records were rejected
+    private static class ParsedCars {
+        private final List<Car> cars = new ArrayList<>();
+        private final List<String> rejections = new ArrayList<>();
+        private int rejectedCount;
+
+        // where names the record in rejections, e.g. "line 12"; field returns null or "" when absent
+        void add(String where, Function<String, String> field) {
+            String name = value(field, "name");
+            String price = value(field, "price");
+            String seats = value(field, "seats");
+            String transmission = value(field, "transmission");
+            String fuelType = value(field, "fuel_type");
+            String status = value(field, "status");
+            String imagePath = value(field, "image_path");
+            if (status.isEmpty()) {
+                status = "Available";
+            }
+
+            String reason = validate(name, price, seats, transmission, fuelType, status);
+            if (reason != null) {
+                rejectedCount++;
+                if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                    rejections.add(where + ": " + reason);
+                }
+                return;
+            }
+            if (seats.chars().allMatch(Character::isDigit)) {
+                seats = seats + " Seats";
+            }
+            cars.add(new Car(name, Money.parse(price), seats, transmission, fuelType, status,
+                    imagePath.isEmpty() ? DEFAULT_IMAGE : imagePath));
+        }
+
+        private static String value(Function<String, String> field, String name) {
+            String value = field.apply(name);
+            return value == null ? "" : value.trim();
+        }
+    }
+}
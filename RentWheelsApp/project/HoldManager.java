@@ -0,0 +1,195 @@
+package rentwheels;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// In-memory holds on a car's dates while a customer pays, placed without locking and expired by an ExpiryWheel
+public final class HoldManager {
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SLOTS = 512;
+
+    private final Map<Long, List<CarHold>> holdsByCar = new ConcurrentHashMap<>();
+    private final Consumer<CarHold> onExpired;
+    private final Clock clock;
+    private final ExpiryWheel<CarHold> wheel;
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> tick;
+
+    public HoldManager(Consumer<CarHold> onExpired) {
+        this(onExpired, Clock.systemDefaultZone());
+    }
+
+    public HoldManager(Consumer<CarHold> onExpired, Clock clock) {
+        this.onExpired = onExpired;
+        this.clock = clock;
+        this.wheel = new ExpiryWheel<>(WHEEL_SLOTS, TICK_MILLIS, clock.millis());
+    }
+
+    // Adds the hold unless another customer's live hold on the car overlaps its dates
+    public boolean tryPlace(CarHold hold) {
+        long carId = hold.getCarId();
+        while (true) {
+            List<CarHold> current = holdsByCar.get(carId);
+            if (current == null) {
+                if (holdsByCar.putIfAbsent(carId, List.of(hold)) == null) {
+                    break;
+                }
+                continue;
+            }
+            Instant now = clock.instant();
+            List<CarHold> next = new ArrayList<>(current.size() + 1);
+            for (CarHold held : current) {
+                // Expired holds no longer count but stay listed until the wheel reports them
+                if (!held.isExpired(now) && !held.getCustomerName().equals(hold.getCustomerName())
+                        && held.overlaps(hold.getStartDate(), hold.getEndDate())) {
+                    return false;
+                }
+                next.add(held);
+            }
+            next.add(hold);
+            if (holdsByCar.replace(carId, current, List.copyOf(next))) {
+                break;
+            }
+        }
+        scheduleExpiry(hold);
+        return true;
+    }
+
+    // Takes back a hold placed earlier; false when it already expired or was released
+    public boolean release(CarHold hold) {
+        if (!removeFromCar(hold)) {
+            return false;
+        }
+        synchronized (this) {
+            wheel.cancel(hold, hold.getExpiresAt().toEpochMilli());
+        }
+        return true;
+    }
+
+    // Releases every hold of customerName on the car, for when their booking went through
+    public List<CarHold> releaseCustomer(long carId, String customerName) {
+        List<CarHold> released = new ArrayList<>();
+        for (CarHold hold : holdsByCar.getOrDefault(carId, List.of())) {
+            if (hold.getCustomerName().equals(customerName) && release(hold)) {
+                released.add(hold);
+            }
+        }
+        return released;
+    }
+
+    // True when a live hold by anyone other than exceptCustomer covers part of [start, end)
+    public boolean isHeld(long carId, LocalDate start, LocalDate end, String exceptCustomer) {
+        List<CarHold> holds = holdsByCar.get(carId);
+        if (holds == null) {
+            return false;
+        }
+        Instant now = clock.instant();
+        for (CarHold hold : holds) {
+            if (!hold.isExpired(now) && !hold.getCustomerName().equals(exceptCustomer)
+                    && hold.overlaps(start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void removeCar(long carId) {
+        List<CarHold> removed = holdsByCar.remove(carId);
+        if (removed != null) {
+            synchronized (this) {
+                for (CarHold hold : removed) {
+                    wheel.cancel(hold, hold.getExpiresAt().toEpochMilli());
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        holdsByCar.clear();
+        wheel.clear();
+    }
+
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+            tick = null;
+        }
+    }
+
+    public String getStats() {
+        int holds = 0;
+        for (List<CarHold> carHolds : holdsByCar.values()) {
+            holds += carHolds.size();
+        }
+        synchronized (this) {
+            return "cars=" + holdsByCar.size() + ", holds=" + holds + ", pendingExpiries=" + wheel.size();
+        }
+    }
+
+    private boolean removeFromCar(CarHold hold) {
+        long carId = hold.getCarId();
+        while (true) {
+            List<CarHold> current = holdsByCar.get(carId);
+            if (current == null || !current.contains(hold)) {
+                return false;
+            }
+            List<CarHold> next = new ArrayList<>(current);
+            next.remove(hold);
+            boolean swapped = next.isEmpty()
+                    ? holdsByCar.remove(carId, current)
+                    : holdsByCar.replace(carId, current, List.copyOf(next));
+            if (swapped) {
+                return true;
+            }
+        }
+    }
+
+    private synchronized void scheduleExpiry(CarHold hold) {
+        wheel.add(hold, hold.getExpiresAt().toEpochMilli());
+        if (tick != null) {
+            return;
+        }
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "hold-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        scheduleTick();
+    }
+
+    private void scheduleTick() {
+        long delay = Math.max(0, wheel.nextTickMillis() - clock.millis());
+        tick = executor.schedule(this::expireDue, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void expireDue() {
+        List<CarHold> due;
+        synchronized (this) {
+            due = wheel.expire(clock.millis());
+            // Stop ticking once nothing is pending; the next hold starts the wheel again
+            if (wheel.isEmpty() || executor == null) {
+                tick = null;
+            } else {
+                scheduleTick();
+            }
+        }
+        for (CarHold hold : due) {
+            if (removeFromCar(hold)) {
+                onExpired.accept(hold);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package rentwheels;
+
+import javafx.scene.image.Image;
+
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// LRU cache of images decoded in the background at display size, bounded by total pixels
+public final class ImageCache {
+    // Decoded pixels kept in total, override with -Drentwheels.images.maxPixels=N
+    private static final long MAX_PIXELS = Long.getLong("rentwheels.images.maxPixels", 8_000_000L);
+    private static final System.Logger LOG = System.getLogger(ImageCache.class.getName());
+
+    private static class Holder {
+        private static final ImageCache INSTANCE = new ImageCache(MAX_PIXELS);
+    }
+
+    public static ImageCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private final long maxPixels;
+    private final Map<String, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedPixels;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ImageCache(long maxPixels) {
+        this.maxPixels = maxPixels;
+    }
+
+    // Returns the cached or newly started image, or null if the resource does not exist
+    public synchronized Image get(String resourcePath, double width, double height) {
+        String key = resourcePath + "@" + (int) width + "x" + (int) height;
+        Image image = images.get(key);
+        if (image != null) {
+            hits++;
+            return image;
+        }
+        misses++;
+
+        URL url = getClass().getResource(resourcePath);
+        if (url == null) {
+            return null;
+        }
+        image = new Image(url.toExternalForm(), width, height, true, true, true);
+        images.put(key, image);
+        cachedPixels += pixels(image);
+        evictOverBudget();
+        return image;
+    }
+
+    public synchronized String getStats() {
+        return "images=" + images.size() + ", pixels=" + cachedPixels + "/" + maxPixels + ", hits=" + hits
+                + ", misses=" + misses + ", evictions=" + evictions;
+    }
+
+    public void logStats() {
+        LOG.log(System.Logger.Level.INFO, "Image cache: {0}", getStats());
+    }
+
+    // Keeps at least the newest entry even if it alone exceeds the budget
+    private void evictOverBudget() {
+        Iterator<Image> it = images.values().iterator();
+        while (cachedPixels > maxPixels && images.size() > 1) {
+            Image eldest = it.next();
+            it.remove();
+            cachedPixels -= pixels(eldest);
+            evictions++;
+        }
+    }
+
+    // Requested size is an upper bound for the decoded size since the ratio is preserved
+    private static long pixels(Image image) {
+        return (long) Math.ceil(image.getRequestedWidth()) * (long) Math.ceil(image.getRequestedHeight());
+    }
+}
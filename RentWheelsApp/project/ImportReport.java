@@ -0,0 +1,61 @@
+package rentwheels;
+
+import java.util.List;
+
+// Outcome of a FleetImporter run
+public class ImportReport {
+    private final boolean succeeded;
+    private final int inserted;
+    private final int rejectedCount;
+    private final List<String> rejections;
+    private final long elapsedNanos;
+    private final String error;
+
+    public ImportReport(boolean succeeded, int inserted, int rejectedCount, List<String> rejections,
+            long elapsedNanos, String error) {
+        this.succeeded = succeeded;
+        this.inserted = inserted;
+        this.rejectedCount = rejectedCount;
+        this.rejections = rejections;
+        this.elapsedNanos = elapsedNanos;
+        this.error = error;
+    }
+
+    // False when the file could not be read or a batch failed; getInserted() counts the batches already in
+    public boolean isSucceeded() {
+        return succeeded;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    // "line N: reason" for the first rejected rows
+    public List<String> getRejections() {
+        return rejections;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : inserted * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public String summary() {
+        if (!succeeded) {
+            return "Import failed: " + error;
+        }
+        return String.format("Imported %d cars in %d ms (%.0f rows/s), rejected %d rows",
+                inserted, elapsedNanos / 1_000_000, getRowsPerSecond(), rejectedCount);
+    }
+}
@@ -1,13 +1,24 @@
+package rentwheels;
+
 public class Invoice {
+    private long id; // row id; 0 until the invoice is saved
+    private long reservationId;
     private String invoiceId;
     private String carName;
     private String rentalPeriod;
-    private String total;
+    private long total; // in paise
     private String date;
     private String customerName;
     private String paymentMethod;
 
-    public Invoice(String invoiceId, String carName, String rentalPeriod, String total, String date, String customerName, String paymentMethod) {
+    public Invoice(String invoiceId, String carName, String rentalPeriod, long total, String date, String customerName, String paymentMethod) {
+        this(0, 0, invoiceId, carName, rentalPeriod, total, date, customerName, paymentMethod);
+    }
+
+    public Invoice(long id, long reservationId, String invoiceId, String carName, String rentalPeriod, long total,
+            String date, String customerName, String paymentMethod) {
+        this.id = id;
+        this.reservationId = reservationId;
         this.invoiceId = invoiceId;
         this.carName = carName;
         this.rentalPeriod = rentalPeriod;
@@ -17,15 +28,36 @@ public class Invoice {
         this.paymentMethod = paymentMethod;
     }
 
-    public Invoice(String invoiceId, String carName, String rentalPeriod, String total, String date, String customerName) {
+    public Invoice(String invoiceId, String carName, String rentalPeriod, long total, String date, String customerName) {
         this(invoiceId, carName, rentalPeriod, total, date, customerName, "N/A");
     }
 
     // Getters
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    // 0 when the reservation was deleted or the invoice predates reservation links
+    public long getReservationId() {
+        return reservationId;
+    }
+
+    public void setReservationId(long reservationId) {
+        this.reservationId = reservationId;
+    }
+
     public String getInvoiceId() {
         return invoiceId;
     }
 
+    public void setInvoiceId(String invoiceId) {
+        this.invoiceId = invoiceId;
+    }
+
     public String getCarName() {
         return carName;
     }
@@ -34,7 +66,7 @@ public class Invoice {
         return rentalPeriod;
     }
 
-    public String getTotal() {
+    public long getTotal() {
         return total;
     }
 
@@ -0,0 +1,62 @@
+package rentwheels;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+// Per-year invoice numbers, reserved in blocks from invoice_sequences inside the caller's transaction
+public class InvoiceSequence {
+    private final int blockSize;
+    // year -> {next number to hand out, first number past the reserved block}
+    private final Map<Integer, long[]> blocks = new HashMap<>();
+
+    public InvoiceSequence(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be at least 1");
+        }
+        this.blockSize = blockSize;
+    }
+
+    public synchronized long next(ConnectionPool.Lease writerLease, int year) throws SQLException {
+        long[] block = blocks.get(year);
+        if (block == null || block[0] >= block[1]) {
+            block = reserveBlock(writerLease, year);
+            blocks.put(year, block);
+        }
+        return block[0]++;
+    }
+
+    // INV-YYYY-NNN as the app has always issued them; past 999 the number simply grows wider.
+    // SchemaMigrator seeds the counters by parsing this format, so change both together.
+    public static String format(int year, long number) {
+        return "INV-" + year + "-" + String.format("%03d", number);
+    }
+
+    public synchronized void discardBlocks() {
+        blocks.clear();
+    }
+
+    private long[] reserveBlock(ConnectionPool.Lease lease, int year) throws SQLException {
+        PreparedStatement create = lease.prepare("INSERT OR IGNORE INTO invoice_sequences (year, next_value) VALUES (?, 1)");
+        create.setInt(1, year);
+        create.executeUpdate();
+
+        long start;
+        PreparedStatement select = lease.prepare("SELECT next_value FROM invoice_sequences WHERE year = ?");
+        select.setInt(1, year);
+        try (ResultSet rs = select.executeQuery()) {
+            if (!rs.next()) {
+                throw new SQLException("Invoice sequence for " + year + " is missing");
+            }
+            start = rs.getLong(1);
+        }
+
+        PreparedStatement advance = lease.prepare("UPDATE invoice_sequences SET next_value = ? WHERE year = ?");
+        advance.setLong(1, start + blockSize);
+        advance.setInt(2, year);
+        advance.executeUpdate();
+        return new long[] { start, start + blockSize };
+    }
+}
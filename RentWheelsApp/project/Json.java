@@ -0,0 +1,282 @@
+package rentwheels;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Minimal JSON writer and flat-object parser for the HTTP API and fleet imports
+final class Json {
+    private Json() {
+    }
+
+    // Appends values with the commas between them; nesting is the caller's job
+    static final class Writer {
+        private final StringBuilder out = new StringBuilder();
+        private boolean needsComma;
+
+        Writer beginObject() {
+            separate();
+            out.append('{');
+            needsComma = false;
+            return this;
+        }
+
+        Writer endObject() {
+            out.append('}');
+            needsComma = true;
+            return this;
+        }
+
+        Writer beginArray() {
+            separate();
+            out.append('[');
+            needsComma = false;
+            return this;
+        }
+
+        Writer endArray() {
+            out.append(']');
+            needsComma = true;
+            return this;
+        }
+
+        Writer name(String name) {
+            separate();
+            quote(name);
+            out.append(':');
+            needsComma = false;
+            return this;
+        }
+
+        Writer value(String value) {
+            separate();
+            if (value == null) {
+                out.append("null");
+            } else {
+                quote(value);
+            }
+            needsComma = true;
+            return this;
+        }
+
+        Writer value(long value) {
+            separate();
+            out.append(value);
+            needsComma = true;
+            return this;
+        }
+
+        Writer value(double value) {
+            separate();
+            out.append(Double.isFinite(value) ? Double.toString(value) : "null");
+            needsComma = true;
+            return this;
+        }
+
+        Writer field(String name, String value) {
+            return name(name).value(value);
+        }
+
+        Writer field(String name, long value) {
+            return name(name).value(value);
+        }
+
+        Writer field(String name, double value) {
+            return name(name).value(value);
+        }
+
+        @Override
+        public String toString() {
+            return out.toString();
+        }
+
+        private void separate() {
+            if (needsComma) {
+                out.append(',');
+            }
+        }
+
+        private void quote(String s) {
+            out.append('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '"' -> out.append("\\\"");
+                    case '\\' -> out.append("\\\\");
+                    case '\n' -> out.append("\\n");
+                    case '\r' -> out.append("\\r");
+                    case '\t' -> out.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            out.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.append(c);
+                        }
+                    }
+                }
+            }
+            out.append('"');
+        }
+    }
+
+    // Parses {"name": value, ...}. Numbers come back as their source text, so callers pick the type.
+    static Map<String, String> parseFlatObject(String text) {
+        Parser parser = new Parser(text);
+        Map<String, String> fields = parser.object();
+        parser.skipWhitespace();
+        if (!parser.atEnd()) {
+            throw new IllegalArgumentException("Unexpected content after the JSON object");
+        }
+        return fields;
+    }
+
+    // Parses [{...}, {...}] where every element is a flat object as accepted by parseFlatObject
+    static List<Map<String, String>> parseFlatArray(String text) {
+        Parser parser = new Parser(text);
+        List<Map<String, String>> objects = new ArrayList<>();
+        parser.skipWhitespace();
+        parser.expect('[');
+        parser.skipWhitespace();
+        if (parser.peek() == ']') {
+            parser.next();
+        } else {
+            while (true) {
+                parser.skipWhitespace();
+                objects.add(parser.object());
+                parser.skipWhitespace();
+                char c = parser.next();
+                if (c == ']') {
+                    break;
+                }
+                if (c != ',') {
+                    throw parser.error("Expected ',' or ']'");
+                }
+            }
+        }
+        parser.skipWhitespace();
+        if (!parser.atEnd()) {
+            throw new IllegalArgumentException("Unexpected content after the JSON array");
+        }
+        return objects;
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Map<String, String> object() {
+            Map<String, String> fields = new LinkedHashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return fields;
+            }
+            while (true) {
+                skipWhitespace();
+                String name = string();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                fields.put(name, scalar());
+                skipWhitespace();
+                char c = next();
+                if (c == '}') {
+                    return fields;
+                }
+                if (c != ',') {
+                    throw error("Expected ',' or '}'");
+                }
+            }
+        }
+
+        private String scalar() {
+            char c = peek();
+            if (c == '"') {
+                return string();
+            }
+            if (text.startsWith("null", pos)) {
+                pos += 4;
+                return null;
+            }
+            int start = pos;
+            while (!atEnd() && "+-0123456789.eEtruefals".indexOf(peek()) >= 0) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("Expected a string, number, boolean or null");
+            }
+            return text.substring(start, pos);
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder s = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return s.toString();
+                }
+                if (c != '\\') {
+                    s.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case '"', '\\', '/' -> s.append(escaped);
+                    case 'b' -> s.append('\b');
+                    case 'f' -> s.append('\f');
+                    case 'n' -> s.append('\n');
+                    case 'r' -> s.append('\r');
+                    case 't' -> s.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > text.length()) {
+                            throw error("Truncated \\u escape");
+                        }
+                        s.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> throw error("Unknown escape \\" + escaped);
+                }
+            }
+        }
+
+        void skipWhitespace() {
+            while (!atEnd() && Character.isWhitespace(peek())) {
+                pos++;
+            }
+        }
+
+        boolean atEnd() {
+            return pos >= text.length();
+        }
+
+        char peek() {
+            if (atEnd()) {
+                throw error("Unexpected end of JSON");
+            }
+            return text.charAt(pos);
+        }
+
+        char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        void expect(char c) {
+            if (next() != c) {
+                throw error("Expected '" + c + "'");
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at offset " + pos);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package rentwheels;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Rupee amounts are stored as whole paise in a long; these helpers convert at the UI boundary
+public final class Money {
+    private static final String SYMBOL = "₹";
+
+    private Money() {
+    }
+
+    public static long rupees(long rupees) {
+        return Math.multiplyExact(rupees, 100);
+    }
+
+    // Formats paise for display, e.g. 1002000 -> "₹10020.00"
+    public static String format(long paise) {
+        return SYMBOL + toPlainString(paise);
+    }
+
+    // Formats paise without the currency symbol, for editable fields
+    public static String toPlainString(long paise) {
+        String sign = paise < 0 ? "-" : "";
+        long abs = Math.abs(paise);
+        return sign + (abs / 100) + "." + String.format("%02d", abs % 100);
+    }
+
+    // Parses user input such as "5000", "5,000.50" or "₹5000.5" into paise
+    public static long parse(String text) {
+        if (text == null) {
+            throw new NumberFormatException("null amount");
+        }
+        String cleaned = text.replace(SYMBOL, "").replace(",", "").trim();
+        try {
+            return new BigDecimal(cleaned).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + text);
+        }
+    }
+}
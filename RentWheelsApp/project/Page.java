@@ -0,0 +1,31 @@
+package rentwheels;
+
+import java.util.List;
+
+// One page of a keyset-paginated query; getNextCursor() is null after the last page
+public class Page<T> {
+    // Sort direction over the (created_date, id) key
+    public enum Order {
+        NEWEST_FIRST, OLDEST_FIRST
+    }
+
+    private final List<T> items;
+    private final PageCursor nextCursor;
+
+    public Page(List<T> items, PageCursor nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public PageCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
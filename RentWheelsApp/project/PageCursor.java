@@ -0,0 +1,20 @@
+package rentwheels;
+
+// Sort key of the last row of a page; the next page starts strictly after it
+public class PageCursor {
+    private final String createdDate;
+    private final long id;
+
+    public PageCursor(String createdDate, long id) {
+        this.createdDate = createdDate;
+        this.id = id;
+    }
+
+    public String getCreatedDate() {
+        return createdDate;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,73 @@
+package rentwheels;
+
+import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+
+// Fills a TableView one page at a time, fetching the next page as the user nears the end
+public class PagedTableLoader<T> {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int PREFETCH_ROWS = 10;
+
+    @FunctionalInterface
+    public interface PageSource<T> {
+        Page<T> fetch(PageCursor after, int pageSize);
+    }
+
+    private final AsyncDatabase async;
+    private final TableView<T> table;
+    private final PageSource<T> source;
+    private final int pageSize;
+    private PageCursor cursor;
+    private boolean exhausted;
+    private boolean loading;
+
+    public PagedTableLoader(AsyncDatabase async, TableView<T> table, PageSource<T> source, int pageSize) {
+        this.async = async;
+        this.table = table;
+        this.source = source;
+        this.pageSize = pageSize;
+    }
+
+    // Installs the paging row factory and loads the first page
+    public void install() {
+        table.setRowFactory(tv -> new TableRow<>() {
+            @Override
+            public void updateIndex(int index) {
+                super.updateIndex(index);
+                if (index >= 0 && index >= table.getItems().size() - PREFETCH_ROWS) {
+                    requestNextPage();
+                }
+            }
+        });
+        loadNextPage();
+    }
+
+    private void requestNextPage() {
+        if (loading || exhausted) {
+            return;
+        }
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        loading = true;
+        Node idlePlaceholder = table.getPlaceholder();
+        if (table.getItems().isEmpty()) {
+            table.setPlaceholder(new ProgressIndicator());
+        }
+        PageCursor after = cursor;
+        async.call(db -> source.fetch(after, pageSize)).whenComplete((page, error) -> {
+            loading = false;
+            table.setPlaceholder(idlePlaceholder);
+            if (error != null) {
+                exhausted = true;
+                return;
+            }
+            table.getItems().addAll(page.getItems());
+            cursor = page.getNextCursor();
+            exhausted = !page.hasMore();
+        });
+    }
+}
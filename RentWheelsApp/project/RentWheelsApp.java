@@ -1,3 +1,5 @@
+package rentwheels;
+
 import javafx.application.Application;
 import javafx.beans.property.*;
 import javafx.collections.FXCollections;
@@ -14,30 +16,41 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.util.Duration;
 import javafx.application.Platform;
 
 // Additional imports for database
+import java.io.File;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.function.Consumer;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class RentWheelsApp extends Application {
 
     private Stage primaryStage;
     private User currentUser;
     private DatabaseManager dbManager;
+    // Every database call made from a screen goes through here, off the FX thread
+    private AsyncDatabase asyncDb;
+    // Pricing, booking and cancelling, shared with the HTTP API
+    private BookingService bookingService;
+    // Started only when -Drentwheels.http.port is set
+    private BookingHttpServer httpServer;
     private boolean isLoginMode = true;
-    private Timeline availabilityChecker;
-    private ScrollPane carsScrollPane;
-    private List<Car> allCars;
+    private ReturnScheduler returnScheduler;
+    private CarGrid carGrid;
+    private CarCatalog carCatalog;
+    private CarFilterPipeline carFilterPipeline;
     private List<Button> navButtons = new ArrayList<>(); // To manage all nav buttons
 
     // Filter controls as instance variables for real-time updates
@@ -46,19 +59,36 @@ public class RentWheelsApp extends Application {
     private ComboBox<String> transmissionFilterCombo;
     private ComboBox<String> fuelFilterCombo;
     private TextField maxPriceFilterField;
+    private DatePicker availableFromPicker;
+    private DatePicker availableToPicker;
 
     private void initializeData() {
         // Initialize database
         dbManager = DatabaseManager.getInstance();
-        allCars = dbManager.getAllCars();
+        asyncDb = new AsyncDatabase(dbManager);
+        bookingService = new BookingService(dbManager);
+        carCatalog = new CarCatalog(dbManager.getAllCars(), dbManager.getAvailability());
+        carFilterPipeline = new CarFilterPipeline(carCatalog, this::updateCarsGrid);
+        dbManager.addCarChangeListener(this::onCarChanged);
     }
 
     @Override
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
         initializeData();
+        startHttpServer();
 
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (httpServer != null) {
+                httpServer.stop();
+            }
+            stopReturnScheduler();
+            if (carFilterPipeline != null) {
+                carFilterPipeline.shutdown();
+            }
+            if (asyncDb != null) {
+                asyncDb.shutdown();
+            }
             if (dbManager != null) {
                 dbManager.closeConnection();
             }
@@ -71,6 +101,12 @@ public class RentWheelsApp extends Application {
         primaryStage.show();
     }
 
+    // Runs on the FX thread when the window closes, before the shutdown hook
+    @Override
+    public void stop() {
+        ImageCache.getInstance().logStats();
+    }
+
     private void showLoginScreen() {
         VBox root = new VBox(20);
         root.setAlignment(Pos.CENTER);
@@ -178,15 +214,17 @@ public class RentWheelsApp extends Application {
         loginButton.setPrefWidth(300);
 
         loginButton.setOnAction(e -> {
-            User foundUser = dbManager.authenticateUser(usernameField.getText(), passwordField.getText());
-
-            if (foundUser != null) {
-                currentUser = foundUser;
-                showMainApplication();
-            } else {
-                showAlert("Login Failed",
-                        "Invalid username or password! Please register if you don't have an account.");
-            }
+            String username = usernameField.getText();
+            String password = passwordField.getText();
+            runDatabaseCall(loginButton, "Signing in...", db -> db.authenticateUser(username, password), foundUser -> {
+                if (foundUser != null) {
+                    currentUser = foundUser;
+                    showMainApplication();
+                } else {
+                    showAlert("Login Failed",
+                            "Invalid username or password! Please register if you don't have an account.");
+                }
+            });
         });
 
         VBox usernameBox = new VBox(5);
@@ -271,27 +309,26 @@ public class RentWheelsApp extends Application {
                 return;
             }
 
-            // Check if username already exists
-            if (dbManager.userExists(usernameField.getText())) {
-                showAlert("Registration Failed", "Username already exists! Please choose a different username.");
-                return;
-            }
-
-            // Registration successful - add new user
             User newUser = new User(nameField.getText(), emailField.getText(), usernameField.getText(),
                     passwordField.getText());
 
-            if (dbManager.insertUser(newUser)) {
-                showSuccessDialog("Registration successful! Welcome " + nameField.getText()
-                        + "!\n\nYou can now login with:\nUsername: " + usernameField.getText() + "\nPassword: "
-                        + passwordField.getText());
-
-                // Switch back to login tab
-                isLoginMode = true;
-                showLoginScreen();
-            } else {
-                showAlert("Registration Failed", "Error creating account. Please try again.");
-            }
+            // null when the username is taken, else whether the insert worked
+            runDatabaseCall(registerButton, "Registering...",
+                    db -> db.userExists(newUser.getUsername()) ? null : db.insertUser(newUser), inserted -> {
+                if (inserted == null) {
+                    showAlert("Registration Failed", "Username already exists! Please choose a different username.");
+                } else if (inserted) {
+                    showSuccessDialog("Registration successful! Welcome " + newUser.getName()
+                            + "!\n\nYou can now login with:\nUsername: " + newUser.getUsername() + "\nPassword: "
+                            + newUser.getPassword());
+
+                    // Switch back to login tab
+                    isLoginMode = true;
+                    showLoginScreen();
+                } else {
+                    showAlert("Registration Failed", "Error creating account. Please try again.");
+                }
+            });
         });
 
         VBox nameBox = new VBox(5);
@@ -318,7 +355,11 @@ public class RentWheelsApp extends Application {
         BorderPane root = new BorderPane();
         root.setStyle("-fx-background-color: #f8f9fa;");
 
-        comprehensiveDebug();
+        // Only prints to the console, so nothing waits for it
+        asyncDb.call(db -> {
+            comprehensiveDebug();
+            return null;
+        });
 
         // Header
         HBox header = createHeader();
@@ -328,8 +369,8 @@ public class RentWheelsApp extends Application {
         BorderPane mainContent = createAvailableCarsView();
         root.setCenter(mainContent);
 
-        // START THE AVAILABILITY CHECKER:
-        startAvailabilityChecker();
+        // START THE RETURN SCHEDULER:
+        startReturnScheduler();
 
         Scene scene = new Scene(root, 1200, 800);
         primaryStage.setScene(scene);
@@ -401,26 +442,26 @@ public class RentWheelsApp extends Application {
             }
 
             try {
-                double price = Double.parseDouble(priceField.getText());
-                String formattedPrice = "₹" + String.format("%.2f", price);
+                long price = Money.parse(priceField.getText());
 
                 Car newCar = new Car(
                         nameField.getText(),
-                        formattedPrice,
+                        price,
                         seatsCombo.getValue(),
                         transmissionCombo.getValue(),
                         fuelCombo.getValue(),
                         "Available",
                         "default_car.jpg");
 
-                if (dbManager.insertCar(newCar)) {
-                    dialog.close();
-                    showSuccessDialog("Car added successfully!");
-                    refreshAvailableCarsView(); // Real-time update
-                    ((BorderPane) primaryStage.getScene().getRoot()).setCenter(createAdminCarsView());
-                } else {
-                    showAlert("Error", "Failed to add car to database!");
-                }
+                runDatabaseCall(addBtn, "Adding...", db -> db.insertCar(newCar), inserted -> {
+                    if (inserted) {
+                        dialog.close();
+                        showSuccessDialog("Car added successfully!");
+                        ((BorderPane) primaryStage.getScene().getRoot()).setCenter(createAdminCarsView());
+                    } else {
+                        showAlert("Error", "Failed to add car to database!");
+                    }
+                });
 
             } catch (NumberFormatException ex) {
                 showAlert("Error", "Please enter a valid price!");
@@ -436,71 +477,63 @@ public class RentWheelsApp extends Application {
         dialog.show();
     }
 
-    private void checkAndUpdateCarAvailability() {
-        LocalDate today = LocalDate.now();
-        boolean anyCarReturned = false;
-
-        List<Reservation> allReservations = dbManager.getAllReservations();
-
-        for (Reservation reservation : allReservations) {
-            if (reservation.getActualEndDate() != null &&
-                    !today.isBefore(reservation.getActualEndDate()) &&
-                    "Upcoming".equals(reservation.getStatus())) {
-
-                if (dbManager.updateReservationStatus(reservation.getCarName(),
-                        reservation.getCustomerName(), "Completed") &&
-                        dbManager.updateCarStatus(reservation.getCarName(), "Available")) {
-                    anyCarReturned = true;
-                }
-            }
-        }
+    private void onCarsReturned(List<String> returnedCarNames) {
+        // The grid picks up the released cars through onCarChanged
+        System.out.println("✓ Returned cars: " + returnedCarNames);
+    }
 
-        if (anyCarReturned) {
-            refreshAvailableCarsView(); // Real-time update
+    // Patches the catalog with the committed row and re-runs the in-memory query; only the
+    // grid rows whose cars changed are rebound
+    private void onCarChanged(CarChangeEvent event) {
+        if (event.getType() == CarChangeEvent.Type.DELETED) {
+            carCatalog.remove(event.getCar().getId());
+        } else {
+            carCatalog.upsert(event.getCar());
         }
+        Platform.runLater(() -> {
+            if (carSearchField != null) { // Ensure controls are initialized
+                carFilterPipeline.refreshNow(buildCarQuery());
+            }
+        });
     }
 
-    private String getCarReturnInfo(String carName) {
-        List<Reservation> allReservations = dbManager.getAllReservations();
-
-        for (Reservation reservation : allReservations) {
-            if (reservation.getCarName().equals(carName) &&
-                    reservation.getStatus().equals("Upcoming") &&
-                    reservation.getActualEndDate() != null) {
+    // Bulk imports skip per-row change events, so the whole fleet is read back once
+    private void reloadCarCatalog() {
+        asyncDb.call(DatabaseManager::getAllCars).thenAccept(cars -> {
+            carCatalog.replaceAll(cars);
+            if (carSearchField != null) { // Ensure controls are initialized
+                carFilterPipeline.refreshNow(buildCarQuery());
+            }
+        });
+    }
 
-                LocalDate today = LocalDate.now();
-                LocalDate returnDate = reservation.getActualEndDate();
+    private void startReturnScheduler() {
+        stopReturnScheduler();
 
-                if (returnDate.isEqual(today)) {
-                    return "Returns today";
-                } else if (returnDate.isAfter(today)) {
-                    long daysUntilReturn = ChronoUnit.DAYS.between(today, returnDate);
-                    if (daysUntilReturn == 1) {
-                        return "Returns tomorrow";
-                    } else {
-                        return "Returns in " + daysUntilReturn + " days";
-                    }
-                } else {
-                    return "Overdue return";
-                }
-            }
-        }
-        return "";
+        returnScheduler = new ReturnScheduler(dbManager, this::onCarsReturned);
+        returnScheduler.start();
+        bookingService.setReturnScheduler(returnScheduler);
     }
 
-    private void startAvailabilityChecker() {
-        if (availabilityChecker != null) {
-            availabilityChecker.stop();
+    private void stopReturnScheduler() {
+        if (returnScheduler != null) {
+            bookingService.setReturnScheduler(null);
+            returnScheduler.stop();
         }
-    
-        availabilityChecker = new Timeline(new KeyFrame(Duration.seconds(30), e -> checkAndUpdateCarAvailability()));
-        availabilityChecker.setCycleCount(Timeline.INDEFINITE);
-        availabilityChecker.play();
     }
 
-    private void stopAvailabilityChecker() {
-        if (availabilityChecker != null) {
-            availabilityChecker.stop();
+    // Lets counter terminals and the web front end book against this process while it runs
+    private void startHttpServer() {
+        if (System.getProperty("rentwheels.http.port") == null) {
+            return;
+        }
+        try {
+            httpServer = new BookingHttpServer(bookingService, BookingHttpServer.DEFAULT_HOST,
+                    BookingHttpServer.DEFAULT_PORT);
+            httpServer.start();
+        } catch (IOException e) {
+            e.printStackTrace();
+            showAlert("Booking API", "Could not start the booking API: " + e.getMessage());
         }
     }
 
@@ -524,7 +557,7 @@ public class RentWheelsApp extends Application {
         TextField nameField = new TextField(car.getName());
         nameField.setPrefWidth(200);
 
-        TextField priceField = new TextField(car.getPrice().replace("₹", ""));
+        TextField priceField = new TextField(Money.toPlainString(car.getPrice()));
         priceField.setPrefWidth(200);
 
         ComboBox<String> seatsCombo = new ComboBox<>();
@@ -540,7 +573,7 @@ public class RentWheelsApp extends Application {
         fuelCombo.setValue(car.getFuelType());
 
         ComboBox<String> statusCombo = new ComboBox<>();
-        statusCombo.getItems().addAll("Available", "Booked", "Unavailable");
+        statusCombo.getItems().addAll("Available", "Unavailable");
         statusCombo.setValue(car.getStatus());
 
         form.add(new Label("Car Name:"), 0, 0);
@@ -574,24 +607,24 @@ public class RentWheelsApp extends Application {
             }
 
             try {
-                double price = Double.parseDouble(priceField.getText());
-                String formattedPrice = "₹" + String.format("%.2f", price);
+                long price = Money.parse(priceField.getText());
 
                 car.setName(nameField.getText());
-                car.setPrice(formattedPrice);
+                car.setPrice(price);
                 car.setSeats(seatsCombo.getValue());
                 car.setTransmission(transmissionCombo.getValue());
                 car.setFuelType(fuelCombo.getValue());
                 car.setStatus(statusCombo.getValue());
 
-                if (dbManager.updateCar(car)) {
-                    dialog.close();
-                    showSuccessDialog("Car updated successfully!");
-                    refreshAvailableCarsView(); // Real-time update
-                    ((BorderPane) primaryStage.getScene().getRoot()).setCenter(createAdminCarsView());
-                } else {
-                    showAlert("Error", "Failed to update car in database!");
-                }
+                runDatabaseCall(saveBtn, "Saving...", db -> db.updateCar(car), updated -> {
+                    if (updated) {
+                        dialog.close();
+                        showSuccessDialog("Car updated successfully!");
+                        ((BorderPane) primaryStage.getScene().getRoot()).setCenter(createAdminCarsView());
+                    } else {
+                        showAlert("Error", "Failed to update car in database!");
+                    }
+                });
 
             } catch (NumberFormatException ex) {
                 showAlert("Error", "Please enter a valid price!");
@@ -632,8 +665,9 @@ public class RentWheelsApp extends Application {
     roleLabel.setStyle("-fx-font-weight: bold; -fx-text-fill: "
             + (user.getUsername().equals("ADMIN") ? "#ff6b35" : "#4285f4") + ";");
 
-    List<Reservation> userReservations = dbManager.getUserReservations(user.getName());
-    Label reservationsLabel = new Label("Total Reservations: " + userReservations.size());
+    Label reservationsLabel = new Label("Total Reservations: …");
+    asyncDb.call(db -> db.getUserReservations(user.getName()))
+        .thenAccept(reservations -> reservationsLabel.setText("Total Reservations: " + reservations.size()));
 
     details.getChildren().addAll(nameLabel, emailLabel, usernameLabel, roleLabel, reservationsLabel);
 
@@ -743,7 +777,7 @@ public class RentWheelsApp extends Application {
         logoutBtn.setStyle(
                 "-fx-background-color: transparent; -fx-text-fill: #4285f4; -fx-border-color: #4285f4; -fx-border-radius: 4; -fx-padding: 5 15;");
         logoutBtn.setOnAction(e -> {
-            stopAvailabilityChecker();
+            stopReturnScheduler();
             currentUser = null;
             isLoginMode = true;
             showLoginScreen();
@@ -793,27 +827,60 @@ public class RentWheelsApp extends Application {
             "-fx-background-color: #28a745; -fx-text-fill: white; -fx-padding: 10 20; -fx-background-radius: 4; -fx-font-weight: bold;");
     addCarBtn.setOnAction(e -> showAddCarDialog());
 
-    headerBox.getChildren().addAll(title, spacer, addCarBtn);
+    Button importBtn = new Button("📥 Import Fleet");
+    importBtn.setStyle(
+            "-fx-background-color: #4285f4; -fx-text-fill: white; -fx-padding: 10 20; -fx-background-radius: 4; -fx-font-weight: bold;");
+    importBtn.setOnAction(e -> {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Fleet");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Fleet files", "*.csv", "*.json"));
+        File file = chooser.showOpenDialog(primaryStage);
+        if (file == null) {
+            return;
+        }
+        runBulkOperation(headerBox, importBtn,
+            db -> new FleetImporter(db).importFile(file.toPath()),
+            report -> {
+                if (report.getInserted() > 0) {
+                    reloadCarCatalog();
+                    ((BorderPane) primaryStage.getScene().getRoot()).setCenter(createAdminCarsView());
+                }
+                if (!report.isSucceeded()) {
+                    showAlert("Import Failed", report.summary());
+                    return;
+                }
+                StringBuilder message = new StringBuilder(report.summary());
+                report.getRejections().stream().limit(10)
+                    .forEach(rejection -> message.append("\n").append(rejection));
+                showSuccessDialog(message.toString());
+            });
+    });
+    HBox.setMargin(importBtn, new Insets(0, 10, 0, 0));
 
-    List<Car> carsList = dbManager.getAllCars();
+    headerBox.getChildren().addAll(title, spacer, importBtn, addCarBtn);
 
     TableView<Car> table = new TableView<>();
-    ObservableList<Car> observableCarsList = FXCollections.observableArrayList(carsList);
+    ObservableList<Car> observableCarsList = FXCollections.observableArrayList();
     table.setItems(observableCarsList);
     table.setStyle("-fx-background-color: white; -fx-border-color: #e0e0e0;");
-    
-    if (carsList.isEmpty()) {
-        Label noDataLabel = new Label("No cars in database. Click 'Add New Car' to add cars.");
+    table.setPlaceholder(new ProgressIndicator());
+    asyncDb.call(DatabaseManager::getAllCars).whenComplete((carsList, error) -> {
+        Label noDataLabel = new Label(error == null
+                ? "No cars in database. Click 'Add New Car' to add cars."
+                : "Failed to load cars. Please try again.");
         noDataLabel.setStyle("-fx-text-fill: #666; -fx-font-size: 14px; -fx-padding: 50px;");
         table.setPlaceholder(noDataLabel);
-    }
+        if (carsList != null) {
+            observableCarsList.setAll(carsList);
+        }
+    });
 
     TableColumn<Car, String> nameCol = new TableColumn<>("Car Name");
     nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
     nameCol.setPrefWidth(200);
 
     TableColumn<Car, String> priceCol = new TableColumn<>("Price/Day");
-    priceCol.setCellValueFactory(new PropertyValueFactory<>("price"));
+    priceCol.setCellValueFactory(cellData -> new SimpleStringProperty(Money.format(cellData.getValue().getPrice())));
     priceCol.setPrefWidth(120);
 
     TableColumn<Car, String> seatsCol = new TableColumn<>("Seats");
@@ -858,14 +925,15 @@ public class RentWheelsApp extends Application {
                 Car car = getTableView().getItems().get(getIndex());
                 String newStatus = car.getStatus().equals("Available") ? "Unavailable" : "Available";
                 
-                if (dbManager.updateCarStatus(car.getName(), newStatus)) {
-                    car.setStatus(newStatus);
-                    getTableView().refresh();
-                    showSuccessDialog("Car status updated to: " + newStatus);
-                    refreshAvailableCarsView(); // Real-time update
-                } else {
-                    showAlert("Error", "Failed to update car status");
-                }
+                runDatabaseCall(toggleBtn, "Updating...", db -> db.updateCarStatus(car.getId(), newStatus), updated -> {
+                    if (updated) {
+                        car.setStatus(newStatus);
+                        getTableView().refresh();
+                        showSuccessDialog("Car status updated to: " + newStatus);
+                    } else {
+                        showAlert("Error", "Failed to update car status");
+                    }
+                });
             });
 
             deleteBtn.setOnAction(e -> {
@@ -876,13 +944,14 @@ public class RentWheelsApp extends Application {
                 confirmAlert.setContentText("Are you sure you want to delete " + car.getName() + "?");
 
                 if (confirmAlert.showAndWait().get() == ButtonType.OK) {
-                    if (dbManager.deleteCar(car.getName())) {
-                        getTableView().getItems().remove(car);
-                        showSuccessDialog("Car deleted successfully!");
-                        refreshAvailableCarsView(); // Real-time update
-                    } else {
-                        showAlert("Error", "Failed to delete car");
-                    }
+                    runDatabaseCall(deleteBtn, "Deleting...", db -> db.deleteCar(car.getId()), deleted -> {
+                        if (deleted) {
+                            getTableView().getItems().remove(car);
+                            showSuccessDialog("Car deleted successfully!");
+                        } else {
+                            showAlert("Error", "Failed to delete car");
+                        }
+                    });
                 }
             });
             buttonBox.getChildren().addAll(editBtn, toggleBtn, deleteBtn);
@@ -916,16 +985,19 @@ public class RentWheelsApp extends Application {
     Region spacer = new Region();
     HBox.setHgrow(spacer, Priority.ALWAYS);
 
-    List<User> users = dbManager.getAllUsers();
-    Label totalUsersLabel = new Label("Total Users: " + users.size());
+    Label totalUsersLabel = new Label("Total Users: …");
+    asyncDb.call(DatabaseManager::countUsers).thenAccept(count -> totalUsersLabel.setText("Total Users: " + count));
     totalUsersLabel.setStyle(
             "-fx-background-color: #e3f2fd; -fx-text-fill: #1976d2; -fx-padding: 8 15; -fx-background-radius: 4; -fx-font-weight: bold;");
 
     headerBox.getChildren().addAll(title, spacer, totalUsersLabel);
 
     TableView<User> table = new TableView<>();
-    table.setItems(FXCollections.observableArrayList(users));
     table.setStyle("-fx-background-color: white; -fx-border-color: #e0e0e0;");
+    // Users are fetched a page at a time as the table scrolls
+    new PagedTableLoader<>(asyncDb, table,
+        (after, pageSize) -> dbManager.getUsersPage(after, pageSize, Page.Order.NEWEST_FIRST),
+        PagedTableLoader.DEFAULT_PAGE_SIZE).install();
 
     TableColumn<User, String> nameCol = new TableColumn<>("Full Name");
     nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
@@ -974,12 +1046,14 @@ public class RentWheelsApp extends Application {
                 confirmAlert.setContentText("Are you sure you want to delete user " + user.getName() + "?");
 
                 if (confirmAlert.showAndWait().get() == ButtonType.OK) {
-                    if (dbManager.deleteUser(user.getUsername())) {
-                        showSuccessDialog("User deleted successfully!");
-                        ((BorderPane) primaryStage.getScene().getRoot()).setCenter(createAdminUsersView());
-                    } else {
-                        showAlert("Error", "Failed to delete user. Please try again.");
-                    }
+                    runDatabaseCall(deleteBtn, "Deleting...", db -> db.deleteUser(user.getUsername()), deleted -> {
+                        if (deleted) {
+                            showSuccessDialog("User deleted successfully!");
+                            ((BorderPane) primaryStage.getScene().getRoot()).setCenter(createAdminUsersView());
+                        } else {
+                            showAlert("Error", "Failed to delete user. Please try again.");
+                        }
+                    });
                 }
             });
             buttonBox.getChildren().addAll(viewBtn, deleteBtn);
@@ -1052,6 +1126,14 @@ public class RentWheelsApp extends Application {
 
         maxPriceFilterField = new TextField();
         maxPriceFilterField.setPromptText("Max Price/day");
+
+        // Leaving From empty shows the whole fleet; To defaults to the day after From
+        availableFromPicker = new DatePicker();
+        availableFromPicker.setPromptText("Any date");
+        availableFromPicker.setMaxWidth(Double.MAX_VALUE);
+        availableToPicker = new DatePicker();
+        availableToPicker.setPromptText("Day after From");
+        availableToPicker.setMaxWidth(Double.MAX_VALUE);
         
         filterPanel.getChildren().addAll(
             filterTitle,
@@ -1059,219 +1141,63 @@ public class RentWheelsApp extends Application {
             new Label("Seats:"), seatsFilterCombo,
             new Label("Transmission:"), transmissionFilterCombo,
             new Label("Fuel Type:"), fuelFilterCombo,
-            new Label("Max Price:"), maxPriceFilterField
+            new Label("Max Price:"), maxPriceFilterField,
+            new Label("Available From:"), availableFromPicker,
+            new Label("Available To:"), availableToPicker
         );
         content.setLeft(filterPanel);
 
-        Runnable filterAction = () -> filterAndDisplayCars(
-            carSearchField.getText(),
-            seatsFilterCombo.getValue(),
-            transmissionFilterCombo.getValue(),
-            fuelFilterCombo.getValue(),
-            maxPriceFilterField.getText()
-        );
+        // Queries run in the background and only the latest result reaches the grid
+        Runnable filterAction = () -> carFilterPipeline.submit(buildCarQuery());
 
         carSearchField.textProperty().addListener((obs, old, aNew) -> filterAction.run());
         seatsFilterCombo.valueProperty().addListener((obs, old, aNew) -> filterAction.run());
         transmissionFilterCombo.valueProperty().addListener((obs, old, aNew) -> filterAction.run());
         fuelFilterCombo.valueProperty().addListener((obs, old, aNew) -> filterAction.run());
         maxPriceFilterField.textProperty().addListener((obs, old, aNew) -> filterAction.run());
+        availableFromPicker.valueProperty().addListener((obs, old, aNew) -> filterAction.run());
+        availableToPicker.valueProperty().addListener((obs, old, aNew) -> filterAction.run());
     
-        carsScrollPane = new ScrollPane();
-        carsScrollPane.setFitToWidth(true);
-        carsScrollPane.setStyle("-fx-background-color: transparent; -fx-background: transparent;");
-        carsScrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-        carsScrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-        BorderPane.setMargin(carsScrollPane, new Insets(0, 0, 0, 20));
+        // Only the visible rows get card nodes; they are rebound as the list scrolls or filters
+        carGrid = new CarGrid(this::showReservationDialog, dbManager.getAvailability(), dbManager.getHolds());
+        BorderPane.setMargin(carGrid, new Insets(0, 0, 0, 20));
     
-        updateCarsGrid(allCars);
-        content.setCenter(carsScrollPane);
+        updateCarsGrid(carCatalog.filter(buildCarQuery()));
+        content.setCenter(carGrid);
     
         return content;
     }
     
-    private void filterAndDisplayCars(String name, String seats, String transmission, String fuel, String maxPriceStr) {
-        List<Car> filteredCars = new ArrayList<>(allCars);
-    
-        if (name != null && !name.trim().isEmpty()) {
-            filteredCars = filteredCars.stream()
-                .filter(car -> car.getName().toLowerCase().contains(name.toLowerCase()))
-                .collect(Collectors.toList());
-        }
-    
-        if (seats != null && !seats.equals("All Seats")) {
-            filteredCars = filteredCars.stream()
-                .filter(car -> car.getSeats().equals(seats))
-                .collect(Collectors.toList());
-        }
-    
-        if (transmission != null && !transmission.equals("All")) {
-            filteredCars = filteredCars.stream()
-                .filter(car -> car.getTransmission().equals(transmission))
-                .collect(Collectors.toList());
-        }
-    
-        if (fuel != null && !fuel.equals("All")) {
-            filteredCars = filteredCars.stream()
-                .filter(car -> car.getFuelType().equals(fuel))
-                .collect(Collectors.toList());
-        }
+    private CarQuery buildCarQuery() {
+        String seats = seatsFilterCombo.getValue();
+        String transmission = transmissionFilterCombo.getValue();
+        String fuel = fuelFilterCombo.getValue();
+        String maxPriceStr = maxPriceFilterField.getText();
 
+        Long maxPrice = null;
         if (maxPriceStr != null && !maxPriceStr.trim().isEmpty()) {
             try {
-                double maxPrice = Double.parseDouble(maxPriceStr);
-                filteredCars = filteredCars.stream()
-                    .filter(car -> {
-                        double carPrice = Double.parseDouble(car.getPrice().replace("₹", "").replace(",", ""));
-                        return carPrice <= maxPrice;
-                    })
-                    .collect(Collectors.toList());
+                maxPrice = Money.parse(maxPriceStr);
             } catch (NumberFormatException e) {
                 // Ignore
             }
         }
-    
-        updateCarsGrid(filteredCars);
+
+        return new CarQuery(
+            carSearchField.getText(),
+            seats != null && !seats.equals("All Seats") ? CarCatalog.parseSeats(seats) : null,
+            transmission != null && !transmission.equals("All") ? transmission : null,
+            fuel != null && !fuel.equals("All") ? fuel : null,
+            maxPrice,
+            availableFromPicker.getValue(),
+            availableToPicker.getValue()
+        );
     }
     
     private void updateCarsGrid(List<Car> cars) {
-        GridPane carsGrid = new GridPane();
-        carsGrid.setHgap(20);
-        carsGrid.setVgap(20);
-        carsGrid.setPadding(new Insets(20, 10, 20, 10));
-    
-        int numColumns = 4;
-        for (int i = 0; i < numColumns; i++) {
-            ColumnConstraints colConstraints = new ColumnConstraints();
-            colConstraints.setPercentWidth(100.0 / numColumns);
-            colConstraints.setHgrow(Priority.ALWAYS);
-            carsGrid.getColumnConstraints().add(colConstraints);
-        }
-    
-        int col = 0, row = 0;
-        for (Car car : cars) {
-            VBox carCard = createResponsiveCarCard(car);
-            carsGrid.add(carCard, col, row);
-    
-            col++;
-            if (col >= numColumns) {
-                col = 0;
-                row++;
-            }
-        }
-    
-        carsScrollPane.setContent(carsGrid);
-    }
-
-    private VBox createResponsiveCarCard(Car car) {
-        VBox card = new VBox(15);
-        card.setPadding(new Insets(20));
-        card.setStyle(
-                "-fx-background-color: white; -fx-background-radius: 8; -fx-effect: dropshadow(three-pass-box, rgba(0,0,0,0.1), 8, 0, 0, 2);");
-
-        card.setMaxWidth(Double.MAX_VALUE);
-        card.setPrefWidth(Region.USE_COMPUTED_SIZE);
-
-        VBox imageContainer = new VBox();
-        imageContainer.setAlignment(Pos.CENTER);
-        imageContainer.setPrefHeight(140);
-        imageContainer.setMaxWidth(Double.MAX_VALUE);
-        imageContainer.setStyle(
-                "-fx-background-color: linear-gradient(to bottom, #e3f2fd, #bbdefb); -fx-background-radius: 4;");
-
-        try {
-            String imagePath = "/images/cars/" + car.getImagePath();
-            Image image = new Image(getClass().getResourceAsStream(imagePath));
-            if (!image.isError()) {
-                ImageView imageView = new ImageView(image);
-                imageView.setFitWidth(200);
-                imageView.setFitHeight(140);
-                imageView.setPreserveRatio(true);
-                imageView.setSmooth(true);
-                imageContainer.getChildren().add(imageView);
-            } else {
-                throw new Exception("Image not found");
-            }
-        } catch (Exception e) {
-            Label carEmoji = new Label("🚗");
-            carEmoji.setStyle("-fx-font-size: 42px;");
-            Label placeholderText = new Label(car.getName());
-            placeholderText.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
-            VBox placeholder = new VBox(10, carEmoji, placeholderText);
-            placeholder.setAlignment(Pos.CENTER);
-            imageContainer.getChildren().add(placeholder);
-        }
-
-        Label nameLabel = new Label(car.getName());
-        nameLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-        nameLabel.setStyle("-fx-text-fill: #333;");
-        nameLabel.setWrapText(true);
-        nameLabel.setMaxWidth(Double.MAX_VALUE);
-
-        Label yearLabel = new Label("2022");
-        yearLabel.setStyle("-fx-text-fill: #666; -fx-font-size: 13px;");
-
-        VBox specsBox = new VBox(5);
-        specsBox.setAlignment(Pos.CENTER_LEFT);
-        Label seatsLabel = new Label("👥 " + car.getSeats());
-        Label transmissionLabel = new Label("⚙️ " + car.getTransmission());
-        Label fuelLabel = new Label("⛽ " + car.getFuelType());
-        seatsLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
-        transmissionLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
-        fuelLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
-        specsBox.getChildren().addAll(seatsLabel, transmissionLabel, fuelLabel);
-
-        VBox statusInfo = new VBox(5);
-        statusInfo.setAlignment(Pos.CENTER_LEFT);
-        Label statusLabel = new Label(car.getStatus());
-        if (car.getStatus().equals("Available")) {
-            statusLabel.setStyle(
-                    "-fx-background-color: #e8f5e8; -fx-text-fill: #2e7d32; -fx-padding: 5 10; -fx-background-radius: 12; -fx-font-size: 12px; -fx-font-weight: bold;");
-        } else if (car.getStatus().equals("Booked")) {
-            statusLabel.setStyle(
-                    "-fx-background-color: #fff3e0; -fx-text-fill: #f57c00; -fx-padding: 5 10; -fx-background-radius: 12; -fx-font-size: 12px; -fx-font-weight: bold;");
-            String returnInfo = getCarReturnInfo(car.getName());
-            if (!returnInfo.isEmpty()) {
-                Label returnLabel = new Label("📅 " + returnInfo);
-                returnLabel.setStyle("-fx-text-fill: #666; -fx-font-size: 11px; -fx-font-style: italic;");
-                statusInfo.getChildren().add(returnLabel);
-            }
-        } else {
-            statusLabel.setStyle(
-                    "-fx-background-color: #ffebee; -fx-text-fill: #c62828; -fx-padding: 5 10; -fx-background-radius: 12; -fx-font-size: 12px; -fx-font-weight: bold;");
-        }
-        statusInfo.getChildren().add(0, statusLabel);
-
-        VBox bottomSection = new VBox(10);
-        bottomSection.setAlignment(Pos.CENTER);
-        VBox priceBox = new VBox(3);
-        priceBox.setAlignment(Pos.CENTER);
-        Label priceLabel = new Label(car.getPrice());
-        priceLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
-        priceLabel.setStyle("-fx-text-fill: #4285f4;");
-        Label perDayLabel = new Label("per day");
-        perDayLabel.setStyle("-fx-text-fill: #666; -fx-font-size: 12px;");
-        priceBox.getChildren().addAll(priceLabel, perDayLabel);
-
-        Button actionButton;
-        if (car.getStatus().equals("Available")) {
-            actionButton = new Button("Reserve Now");
-            actionButton.setStyle(
-                    "-fx-background-color: #4285f4; -fx-text-fill: white; -fx-padding: 10 0; -fx-background-radius: 4; -fx-font-weight: bold; -fx-font-size: 13px;");
-            actionButton.setMaxWidth(Double.MAX_VALUE);
-            actionButton.setOnAction(e -> showReservationDialog(car));
-        } else {
-            actionButton = new Button("Unavailable");
-            actionButton.setStyle(
-                    "-fx-background-color: #f5f5f5; -fx-text-fill: #999; -fx-padding: 10 0; -fx-background-radius: 4; -fx-font-size: 13px;");
-            actionButton.setMaxWidth(Double.MAX_VALUE);
-            actionButton.setDisable(true);
-        }
-        bottomSection.getChildren().addAll(priceBox, actionButton);
-
-        card.getChildren().addAll(imageContainer, nameLabel, yearLabel, specsBox, statusInfo, bottomSection);
-
-        return card;
+        CarQuery query = buildCarQuery();
+        carGrid.setAvailabilityWindow(query.getAvailableFrom(), query.getAvailableTo());
+        carGrid.setCars(cars);
     }
 
     private void showReservationDialog(Car car) {
@@ -1297,18 +1223,53 @@ public class RentWheelsApp extends Application {
         carName.setFont(Font.font("Arial", FontWeight.BOLD, 16));
         Label carSpecs = new Label(car.getSeats() + " • " + car.getTransmission() + " • " + car.getFuelType());
         carSpecs.setStyle("-fx-text-fill: #666;");
-        Label carPrice = new Label(car.getPrice() + " per day");
+        Label carPrice = new Label(Money.format(car.getPrice()) + " per day");
         carPrice.setStyle("-fx-text-fill: #4285f4; -fx-font-weight: bold;");
         carDetails.getChildren().addAll(carName, carSpecs, carPrice);
         carInfo.getChildren().addAll(carImage, carDetails);
 
+        // Offer the dates being browsed when this car is free then, else its first free day
+        AvailabilityIndex availability = dbManager.getAvailability();
+        LocalDate today = LocalDate.now();
+        CarQuery browsed = buildCarQuery();
+        LocalDate initialStart = today;
+        LocalDate initialEnd = today.plusDays(1);
+        if (browsed.getAvailableFrom() != null && !browsed.getAvailableFrom().isBefore(today)) {
+            initialStart = browsed.getAvailableFrom();
+            initialEnd = browsed.getAvailableTo();
+        }
+        if (!availability.isFree(car.getId(), initialStart, initialEnd)) {
+            initialStart = availability.firstFreeDay(car.getId(), initialStart);
+            initialEnd = initialStart.plusDays(1);
+        }
+
         GridPane dateGrid = new GridPane();
         dateGrid.setHgap(20);
         dateGrid.setVgap(10);
-        DatePicker startDatePicker = new DatePicker(LocalDate.now());
+        DatePicker startDatePicker = new DatePicker(initialStart);
         startDatePicker.setStyle("-fx-pref-width: 200;");
-        DatePicker endDatePicker = new DatePicker(LocalDate.now().plusDays(1));
+        DatePicker endDatePicker = new DatePicker(initialEnd);
         endDatePicker.setStyle("-fx-pref-width: 200;");
+
+        // Past and booked days cannot start a rental, and a rental cannot run into the next booking
+        startDatePicker.setDayCellFactory(picker -> new DateCell() {
+            @Override
+            public void updateItem(LocalDate date, boolean empty) {
+                super.updateItem(date, empty);
+                boolean booked = !empty && availability.isBooked(car.getId(), date);
+                setDisable(empty || date.isBefore(LocalDate.now()) || booked);
+                setStyle(booked ? "-fx-background-color: #ffebee;" : "");
+            }
+        });
+        endDatePicker.setDayCellFactory(picker -> new DateCell() {
+            @Override
+            public void updateItem(LocalDate date, boolean empty) {
+                super.updateItem(date, empty);
+                LocalDate start = startDatePicker.getValue();
+                LocalDate limit = start == null ? null : availability.nextBookingStart(car.getId(), start);
+                setDisable(empty || start == null || date.isBefore(start) || (limit != null && date.isAfter(limit)));
+            }
+        });
         dateGrid.add(new Label("Start Date"), 0, 0);
         dateGrid.add(startDatePicker, 0, 1);
         dateGrid.add(new Label("End Date"), 1, 0);
@@ -1316,8 +1277,8 @@ public class RentWheelsApp extends Application {
 
         VBox costBox = new VBox(10);
         Label daysLabel = new Label("Days: 0");
-        Label dailyRateLabel = new Label("Daily Rate: " + car.getPrice());
-        Label totalCostLabel = new Label("Total Cost: ₹0.00");
+        Label dailyRateLabel = new Label("Daily Rate: " + Money.format(car.getPrice()));
+        Label totalCostLabel = new Label("Total Cost: " + Money.format(0));
         totalCostLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
         costBox.getChildren().addAll(daysLabel, dailyRateLabel, totalCostLabel);
 
@@ -1325,15 +1286,19 @@ public class RentWheelsApp extends Application {
             LocalDate start = startDatePicker.getValue();
             LocalDate end = endDatePicker.getValue();
             if (start != null && end != null && !end.isBefore(start)) {
-                long days = Math.max(1, ChronoUnit.DAYS.between(start, end));
-                double dailyRate = Double.parseDouble(car.getPrice().replace("₹", "").replace(",", ""));
-                double total = days * dailyRate;
-                daysLabel.setText("Days: " + days);
-                totalCostLabel.setText("Total Cost: ₹" + String.format("%.2f", total));
+                daysLabel.setText("Days: " + BookingService.rentalDays(start, end));
+                totalCostLabel.setText("Total Cost: " + Money.format(BookingService.quote(car, start, end)));
             }
         };
 
-        startDatePicker.setOnAction(e -> updateCost.run());
+        startDatePicker.setOnAction(e -> {
+            LocalDate start = startDatePicker.getValue();
+            LocalDate end = endDatePicker.getValue();
+            if (start != null && (end == null || end.isBefore(start) || !availability.isFree(car.getId(), start, end))) {
+                endDatePicker.setValue(start.plusDays(1));
+            }
+            updateCost.run();
+        });
         endDatePicker.setOnAction(e -> updateCost.run());
         updateCost.run();
 
@@ -1350,11 +1315,22 @@ public class RentWheelsApp extends Application {
             LocalDate start = startDatePicker.getValue();
             LocalDate end = endDatePicker.getValue();
             if (start != null && end != null && !end.isBefore(start)) {
-                long days = Math.max(1, ChronoUnit.DAYS.between(start, end));
-                double dailyRate = Double.parseDouble(car.getPrice().replace("₹", "").replace(",", ""));
-                String totalCost = "₹" + String.format("%.2f", days * dailyRate);
-                dialog.close();
-                showBillingAndPaymentDialog(car, start, end, totalCost);
+                // Typed-in dates skip the day cell checks
+                if (!availability.isFree(car.getId(), start, end)) {
+                    showAlert("Dates Unavailable", car.getName() + " is already booked for part of those dates.");
+                    return;
+                }
+                // Keep the dates for this customer while they pay
+                String customerName = currentUser.getName();
+                runDatabaseCall(confirmBtn, "Holding...", db -> db.placeHold(car.getId(), customerName, start, end), hold -> {
+                    if (hold == null) {
+                        showAlert("Car On Hold", car.getName() + " is being booked by another customer for those dates. "
+                                + "Try other dates or check back in a few minutes.");
+                        return;
+                    }
+                    dialog.close();
+                    showBillingAndPaymentDialog(car, start, end, BookingService.quote(car, start, end), hold);
+                });
             }
         });
         buttonBox.getChildren().addAll(cancelBtn, confirmBtn);
@@ -1366,11 +1342,17 @@ public class RentWheelsApp extends Application {
         dialog.show();
     }
     
-    private void showBillingAndPaymentDialog(Car car, LocalDate startDate, LocalDate endDate, String totalCost) {
+    private void showBillingAndPaymentDialog(Car car, LocalDate startDate, LocalDate endDate, long totalCost,
+            CarHold hold) {
         Stage dialog = new Stage();
         dialog.initModality(Modality.APPLICATION_MODAL);
         dialog.initOwner(primaryStage);
         dialog.setTitle("Billing and Payment");
+        // Closing without paying gives the dates back; after a booking the hold is already gone
+        dialog.setOnHidden(e -> asyncDb.call(db -> {
+            db.releaseHold(hold);
+            return null;
+        }));
     
         BorderPane root = new BorderPane();
         root.setStyle("-fx-background-color: #f5f5f5;");
@@ -1396,11 +1378,14 @@ public class RentWheelsApp extends Application {
         VBox totalDetails = new VBox(5);
         Label totalLabel = new Label("Total Amount");
         totalLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
-        Label totalAmountLabel = new Label(totalCost);
+        Label totalAmountLabel = new Label(Money.format(totalCost));
         totalAmountLabel.setFont(Font.font("Arial", FontWeight.BOLD, 28));
         totalAmountLabel.setStyle("-fx-text-fill: #4285f4;");
         totalDetails.getChildren().addAll(totalLabel, totalAmountLabel);
-        summaryPane.getChildren().addAll(summaryTitle, carDetails, new Separator(), rentalDetails, new Separator(), totalDetails);
+        Label holdLabel = new Label("Held for you until " + LocalTime.ofInstant(hold.getExpiresAt(), ZoneId.systemDefault())
+                .format(DateTimeFormatter.ofPattern("h:mm a")));
+        holdLabel.setStyle("-fx-text-fill: #5e35b1; -fx-font-size: 12px;");
+        summaryPane.getChildren().addAll(summaryTitle, carDetails, new Separator(), rentalDetails, new Separator(), totalDetails, holdLabel);
         root.setLeft(summaryPane);
     
         VBox paymentPane = new VBox(25);
@@ -1427,26 +1412,63 @@ public class RentWheelsApp extends Application {
                 return;
             }
     
-            String invoiceId = "INV-" + LocalDate.now().getYear() + "-" + String.format("%03d", dbManager.getAllInvoices().size() + 1);
-            Invoice invoice = new Invoice(invoiceId, car.getName(),
-                startDate.format(DateTimeFormatter.ofPattern("MMMM d, yyyy")) + " - " + endDate.format(DateTimeFormatter.ofPattern("MMMM d, yyyy")),
-                totalCost, LocalDate.now().format(DateTimeFormatter.ofPattern("MMMM d, yyyy")), currentUser.getName(), selected.getText());
-            Reservation reservation = new Reservation(car.getName(), startDate, endDate, totalCost, "Upcoming", currentUser.getName());
-    
-            if (dbManager.insertReservation(reservation) && dbManager.insertInvoice(invoice)) {
-                dbManager.updateCarStatus(car.getName(), "Booked");
-                dialog.close();
-                showPaymentSuccessDialog();
-                refreshAvailableCarsView(); // Real-time update
-            } else {
-                showAlert("Error", "Failed to create reservation. Please try again.");
-            }
+            String customerName = currentUser.getName();
+            String paymentMethod = selected.getText();
+            runDatabaseCall(confirmAndPayBtn, "Processing payment...",
+                    db -> bookingService.book(car, customerName, startDate, endDate, paymentMethod), result -> {
+                if (result.isBooked()) {
+                    dialog.close();
+                    showPaymentSuccessDialog();
+                } else if (result.getStatus() == BookingResult.Status.CONFLICT) {
+                    // Someone else took these dates since the dialog opened
+                    showAlert("Already Booked", result.getMessage());
+                } else {
+                    showAlert("Error", result.getMessage());
+                }
+            });
         });
     
         dialog.setScene(new Scene(root, 800, 500));
         dialog.show();
     }
 
+    // Runs a database call off the FX thread while its button is disabled and shows busyText,
+    // then hands the result to onDone on the FX thread
+    private <T> void runDatabaseCall(Button trigger, String busyText, AsyncDatabase.Call<T> work, Consumer<T> onDone) {
+        String idleText = trigger.getText();
+        trigger.setText(busyText);
+        trigger.setDisable(true);
+        asyncDb.call(work).whenComplete((result, error) -> {
+            trigger.setText(idleText);
+            trigger.setDisable(false);
+            if (error != null) {
+                error.printStackTrace();
+                showAlert("Error", "The operation failed. Please try again.");
+            } else {
+                onDone.accept(result);
+            }
+        });
+    }
+
+    // Like runDatabaseCall, with a spinner next to the button for calls that take a while
+    private <T> void runBulkOperation(HBox container, Button trigger, AsyncDatabase.Call<T> work, Consumer<T> onDone) {
+        ProgressIndicator progress = new ProgressIndicator();
+        progress.setPrefSize(28, 28);
+        container.getChildren().add(container.getChildren().indexOf(trigger), progress);
+        trigger.setDisable(true);
+
+        asyncDb.call(work).whenComplete((result, error) -> {
+            container.getChildren().remove(progress);
+            trigger.setDisable(false);
+            if (error != null) {
+                error.printStackTrace();
+                showAlert("Error", "The operation failed. Please try again.");
+            } else {
+                onDone.accept(result);
+            }
+        });
+    }
+
     private void showPaymentSuccessDialog() {
         Stage dialog = new Stage();
         dialog.initModality(Modality.APPLICATION_MODAL);
@@ -1529,36 +1551,34 @@ public class RentWheelsApp extends Application {
         confirmAlert.setContentText("Are you sure you want to clear all reservations?");
 
         if (confirmAlert.showAndWait().get() == ButtonType.OK) {
-            List<Reservation> userReservations = isAdmin() ? 
-                dbManager.getAllReservations() : 
-                dbManager.getUserReservations(currentUser.getName());
-                
-            for (Reservation reservation : userReservations) {
-                dbManager.updateCarStatus(reservation.getCarName(), "Available");
-                dbManager.deleteReservation(reservation.getCarName(), reservation.getCustomerName());
-            }
-
-            ((BorderPane) primaryStage.getScene().getRoot()).setCenter(createReservationsView());
-            showSuccessDialog("All reservations cleared! Cars are now available for booking.");
-            refreshAvailableCarsView();
+            String customerName = isAdmin() ? null : currentUser.getName();
+            runBulkOperation(headerBox, clearAllBtn,
+                db -> db.clearReservations(customerName),
+                cleared -> {
+                    if (cleared < 0) {
+                        showAlert("Error", "Failed to clear reservations. Please try again.");
+                        return;
+                    }
+                    returnScheduler.cancelCustomer(customerName);
+                    ((BorderPane) primaryStage.getScene().getRoot()).setCenter(createReservationsView());
+                    showSuccessDialog("All reservations cleared! Their dates are open for booking again.");
+                });
         }
     });
 
     headerBox.getChildren().addAll(title, spacer, clearAllBtn);
 
-    List<Reservation> reservationsList = isAdmin() ? 
-        dbManager.getAllReservations() : 
-        dbManager.getUserReservations(currentUser.getName());
+    String reservationsCustomer = isAdmin() ? null : currentUser.getName();
     
     TableView<Reservation> table = new TableView<>();
-    table.setItems(FXCollections.observableArrayList(reservationsList));
     table.setStyle("-fx-background-color: white; -fx-border-color: #e0e0e0;");
-    
-    if (reservationsList.isEmpty()) {
-        Label noDataLabel = new Label("No reservations found. Book a car to see your reservations here!");
-        noDataLabel.setStyle("-fx-text-fill: #666; -fx-font-size: 14px; -fx-padding: 50px;");
-        table.setPlaceholder(noDataLabel);
-    }
+    Label noDataLabel = new Label("No reservations found. Book a car to see your reservations here!");
+    noDataLabel.setStyle("-fx-text-fill: #666; -fx-font-size: 14px; -fx-padding: 50px;");
+    table.setPlaceholder(noDataLabel);
+    // Reservations are fetched a page at a time as the table scrolls
+    new PagedTableLoader<>(asyncDb, table,
+        (after, pageSize) -> dbManager.getReservationsPage(reservationsCustomer, after, pageSize, Page.Order.NEWEST_FIRST),
+        PagedTableLoader.DEFAULT_PAGE_SIZE).install();
 
     TableColumn<Reservation, String> carCol = new TableColumn<>("Car");
     carCol.setCellValueFactory(new PropertyValueFactory<>("carName"));
@@ -1573,7 +1593,7 @@ public class RentWheelsApp extends Application {
     endCol.setPrefWidth(150);
 
     TableColumn<Reservation, String> totalCol = new TableColumn<>("Total Cost");
-    totalCol.setCellValueFactory(new PropertyValueFactory<>("totalCost"));
+    totalCol.setCellValueFactory(cellData -> new SimpleStringProperty(Money.format(cellData.getValue().getTotalCost())));
     totalCol.setPrefWidth(120);
 
     TableColumn<Reservation, String> statusCol = new TableColumn<>("Status");
@@ -1596,8 +1616,9 @@ public class RentWheelsApp extends Application {
 
             viewInvoiceBtn.setOnAction(e -> {
                 Reservation r = getTableView().getItems().get(getIndex());
-                Invoice i = dbManager.getInvoiceByReservation(r.getCarName(), r.getCustomerName());
-                if (i != null) showInvoiceDetailsDialog(i, r); else showAlert("Error", "Invoice not found.");
+                runDatabaseCall(viewInvoiceBtn, "Loading...", db -> db.getInvoiceByReservation(r.getId()), i -> {
+                    if (i != null) showInvoiceDetailsDialog(i, r); else showAlert("Error", "Invoice not found.");
+                });
             });
 
             cancelBtn.setOnAction(e -> {
@@ -1608,14 +1629,15 @@ public class RentWheelsApp extends Application {
                 confirmAlert.setContentText("Are you sure you want to cancel the reservation for " + reservation.getCarName() + "?");
 
                 if (confirmAlert.showAndWait().get() == ButtonType.OK) {
-                    if (dbManager.updateCarStatus(reservation.getCarName(), "Available") &&
-                            dbManager.deleteReservation(reservation.getCarName(), reservation.getCustomerName())) {
-                        showSuccessDialog("Reservation cancelled successfully!");
-                        ((BorderPane) primaryStage.getScene().getRoot()).setCenter(createReservationsView());
-                        refreshAvailableCarsView(); // Real-time update
-                    } else {
-                        showAlert("Error", "Failed to cancel reservation.");
-                    }
+                    runDatabaseCall(cancelBtn, "Cancelling...", db -> bookingService.cancel(reservation),
+                        cancelled -> {
+                            if (cancelled) {
+                                showSuccessDialog("Reservation cancelled successfully!");
+                                ((BorderPane) primaryStage.getScene().getRoot()).setCenter(createReservationsView());
+                            } else {
+                                showAlert("Error", "Failed to cancel reservation.");
+                            }
+                        });
                 }
             });
             buttonBox.getChildren().addAll(viewInvoiceBtn, cancelBtn);
@@ -1659,32 +1681,33 @@ public class RentWheelsApp extends Application {
         confirmAlert.setContentText("Are you sure you want to clear all invoices?");
 
         if (confirmAlert.showAndWait().get() == ButtonType.OK) {
-            List<Invoice> invoicesToDelete = isAdmin() ? 
-                dbManager.getAllInvoices() : 
-                dbManager.getUserInvoices(currentUser.getName());
-            for (Invoice invoice : invoicesToDelete) {
-                dbManager.deleteInvoice(invoice.getInvoiceId());
-            }
-            ((BorderPane) primaryStage.getScene().getRoot()).setCenter(createInvoicesView());
-            showSuccessDialog("Invoices cleared successfully!");
+            String customerName = isAdmin() ? null : currentUser.getName();
+            runBulkOperation(headerBox, clearAllBtn,
+                db -> db.clearInvoices(customerName),
+                cleared -> {
+                    if (cleared < 0) {
+                        showAlert("Error", "Failed to clear invoices. Please try again.");
+                        return;
+                    }
+                    ((BorderPane) primaryStage.getScene().getRoot()).setCenter(createInvoicesView());
+                    showSuccessDialog("Invoices cleared successfully!");
+                });
         }
     });
 
     headerBox.getChildren().addAll(title, spacer, clearAllBtn);
 
-    List<Invoice> invoicesList = isAdmin() ? 
-        dbManager.getAllInvoices() : 
-        dbManager.getUserInvoices(currentUser.getName());
+    String invoicesCustomer = isAdmin() ? null : currentUser.getName();
     
     TableView<Invoice> table = new TableView<>();
-    table.setItems(FXCollections.observableArrayList(invoicesList));
     table.setStyle("-fx-background-color: white; -fx-border-color: #e0e0e0;");
-    
-    if (invoicesList.isEmpty()) {
-        Label noDataLabel = new Label("No invoices found. Your invoices will appear here after making reservations.");
-        noDataLabel.setStyle("-fx-text-fill: #666; -fx-font-size: 14px; -fx-padding: 50px;");
-        table.setPlaceholder(noDataLabel);
-    }
+    Label noDataLabel = new Label("No invoices found. Your invoices will appear here after making reservations.");
+    noDataLabel.setStyle("-fx-text-fill: #666; -fx-font-size: 14px; -fx-padding: 50px;");
+    table.setPlaceholder(noDataLabel);
+    // Invoices are fetched a page at a time as the table scrolls
+    new PagedTableLoader<>(asyncDb, table,
+        (after, pageSize) -> dbManager.getInvoicesPage(invoicesCustomer, after, pageSize, Page.Order.NEWEST_FIRST),
+        PagedTableLoader.DEFAULT_PAGE_SIZE).install();
 
     TableColumn<Invoice, String> invoiceCol = new TableColumn<>("Invoice #");
     invoiceCol.setCellValueFactory(new PropertyValueFactory<>("invoiceId"));
@@ -1699,7 +1722,7 @@ public class RentWheelsApp extends Application {
     periodCol.setPrefWidth(300);
 
     TableColumn<Invoice, String> totalCol = new TableColumn<>("Total");
-    totalCol.setCellValueFactory(new PropertyValueFactory<>("total"));
+    totalCol.setCellValueFactory(cellData -> new SimpleStringProperty(Money.format(cellData.getValue().getTotal())));
     totalCol.setPrefWidth(120);
 
     TableColumn<Invoice, String> dateCol = new TableColumn<>("Date");
@@ -1779,14 +1802,15 @@ public class RentWheelsApp extends Application {
     billedToLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
     String customerName = invoice.getCustomerName() != null ? invoice.getCustomerName() : (currentUser != null ? currentUser.getName() : "Customer");
     Label customerNameLabel = new Label(customerName);
-    String customerEmail = "";
-    for (User user : dbManager.getAllUsers()) {
-        if (user.getName().equals(customerName)) {
-            customerEmail = user.getEmail();
-            break;
+    Label customerEmailLabel = new Label("");
+    asyncDb.call(db -> {
+        for (User user : db.getAllUsers()) {
+            if (user.getName().equals(customerName)) {
+                return user.getEmail();
+            }
         }
-    }
-    Label customerEmailLabel = new Label(customerEmail);
+        return "";
+    }).thenAccept(customerEmailLabel::setText);
     customerEmailLabel.setStyle("-fx-text-fill: #666;");
     billedTo.getChildren().addAll(billedToLabel, customerNameLabel, customerEmailLabel);
 
@@ -1805,7 +1829,7 @@ public class RentWheelsApp extends Application {
     amount.setPrefWidth(300);
     Region amountSpacer = new Region();
     HBox.setHgrow(amountSpacer, Priority.ALWAYS);
-    amountRow.getChildren().addAll(amount, amountSpacer, new Label(invoice.getTotal()) {{ setFont(Font.font("Arial", FontWeight.BOLD, 14)); }});
+    amountRow.getChildren().addAll(amount, amountSpacer, new Label(Money.format(invoice.getTotal())) {{ setFont(Font.font("Arial", FontWeight.BOLD, 14)); }});
     HBox totalRow = new HBox();
     totalRow.setAlignment(Pos.CENTER_LEFT);
     Label totalLabel = new Label("Total");
@@ -1813,7 +1837,7 @@ public class RentWheelsApp extends Application {
     totalLabel.setPrefWidth(300);
     Region totalSpacer = new Region();
     HBox.setHgrow(totalSpacer, Priority.ALWAYS);
-    Label totalAmount = new Label(invoice.getTotal());
+    Label totalAmount = new Label(Money.format(invoice.getTotal()));
     totalAmount.setFont(Font.font("Arial", FontWeight.BOLD, 16));
     totalAmount.setStyle("-fx-text-fill: #4285f4;");
     totalRow.getChildren().addAll(totalLabel, totalSpacer, totalAmount);
@@ -1861,39 +1885,31 @@ public class RentWheelsApp extends Application {
     List<Car> cars = dbManager.getAllCars();
     System.out.println("Total Cars: " + cars.size());
     cars.stream().limit(3).forEach(car -> 
-        System.out.println("  Car: " + car.getName() + " | Price: " + car.getPrice() + " | Status: " + car.getStatus()));
+        System.out.println("  Car: " + car.getName() + " | Price: " + Money.format(car.getPrice()) + " | Status: " + car.getStatus()));
     
-    List<User> users = dbManager.getAllUsers();
-    System.out.println("\nTotal Users: " + users.size());
-    users.forEach(user -> 
-        System.out.println("  User: " + user.getName() + " | Username: " + user.getUsername()));
+    System.out.println("\nUsers:");
+    try (Stream<User> users = dbManager.streamUsers(DatabaseManager.DEFAULT_FETCH_SIZE)) {
+        System.out.println("Total Users: " + printRows(users, user -> "User: " + user.getName() + " | Username: " + user.getUsername()));
+    }
     
-    List<Reservation> reservations = dbManager.getAllReservations();
-    System.out.println("\nTotal Reservations: " + reservations.size());
-    reservations.forEach(res -> 
-        System.out.println("  Reservation: " + res.getCarName() + " | Customer: " + res.getCustomerName()));
+    System.out.println("\nReservations:");
+    try (Stream<Reservation> reservations = dbManager.streamReservations(null, DatabaseManager.DEFAULT_FETCH_SIZE)) {
+        System.out.println("Total Reservations: " + printRows(reservations, res -> "Reservation: " + res.getCarName() + " | Customer: " + res.getCustomerName()));
+    }
     
-    List<Invoice> invoices = dbManager.getAllInvoices();
-    System.out.println("\nTotal Invoices: " + invoices.size());
-    invoices.forEach(inv -> 
-        System.out.println("  Invoice: " + inv.getInvoiceId() + " | Customer: " + inv.getCustomerName()));
+    System.out.println("\nInvoices:");
+    try (Stream<Invoice> invoices = dbManager.streamInvoices(null, DatabaseManager.DEFAULT_FETCH_SIZE)) {
+        System.out.println("Total Invoices: " + printRows(invoices, inv -> "Invoice: " + inv.getInvoiceId() + " | Customer: " + inv.getCustomerName()));
+    }
     System.out.println("==================================================\n");
 }
 
-    private void refreshAvailableCarsView() {
-        Platform.runLater(() -> {
-            allCars = dbManager.getAllCars();
-            if (carSearchField != null) { // Ensure controls are initialized
-                filterAndDisplayCars(
-                    carSearchField.getText(),
-                    seatsFilterCombo.getValue(),
-                    transmissionFilterCombo.getValue(),
-                    fuelFilterCombo.getValue(),
-                    maxPriceFilterField.getText()
-                );
-            }
-        });
+    // Prints each row as it is read and returns how many there were
+    private static <T> long printRows(Stream<T> rows, Function<T, String> describe) {
+        long count = 0;
+        for (Iterator<T> it = rows.iterator(); it.hasNext(); count++) {
+            System.out.println("  " + describe.apply(it.next()));
+        }
+        return count;
     }
 }
-
-
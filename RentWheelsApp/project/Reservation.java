@@ -1,3 +1,5 @@
+package rentwheels;
+
 import javafx.animation.Timeline;
 import javafx.util.Duration;
 import java.time.LocalDate;
@@ -9,18 +11,27 @@ import java.time.temporal.ChronoUnit;
 
 
 public class Reservation {
+    private long id; // row id; 0 until the reservation is saved
+    private long carId;
     private String carName;
     private String startDate;
     private String endDate;
-    private String totalCost;
+    private long totalCost; // in paise
     private String status;
     private String customerName;
     private LocalDate actualStartDate;
     private LocalDate actualEndDate;
 
     // NEW CONSTRUCTOR WITH LocalDate PARAMETERS:
-    public Reservation(String carName, LocalDate startDate, LocalDate endDate, String totalCost, String status,
+    public Reservation(long carId, String carName, LocalDate startDate, LocalDate endDate, long totalCost, String status,
             String customerName) {
+        this(0, carId, carName, startDate, endDate, totalCost, status, customerName);
+    }
+
+    public Reservation(long id, long carId, String carName, LocalDate startDate, LocalDate endDate, long totalCost,
+            String status, String customerName) {
+        this.id = id;
+        this.carId = carId;
         this.carName = carName;
         this.actualStartDate = startDate;
         this.actualEndDate = endDate;
@@ -32,6 +43,14 @@ public class Reservation {
     }
 
     // Getters
+    public long getId() {
+        return id;
+    }
+
+    public long getCarId() {
+        return carId;
+    }
+
     public String getCarName() {
         return carName;
     }
@@ -44,7 +63,7 @@ public class Reservation {
         return endDate;
     }
 
-    public String getTotalCost() {
+    public long getTotalCost() {
         return totalCost;
     }
 
@@ -65,6 +84,9 @@ public class Reservation {
     }
 
     // Setters
+    public void setId(long id) {
+        this.id = id;
+    }
 
     public void setCustomerName(String customerName) {
         this.customerName = customerName;
@@ -0,0 +1,144 @@
+package rentwheels;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Completes reservations when their end date arrives, sleeping until the earliest one is due
+public class ReturnScheduler {
+    // Re-check at least this often so wall clock jumps (suspend, DST) never delay a return for long
+    private static final long MAX_SLEEP_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final DatabaseManager dbManager;
+    private final Consumer<List<String>> onCarsReturned;
+    private final Clock clock;
+    private final PriorityQueue<ScheduledReturn> queue =
+            new PriorityQueue<>(Comparator.comparing(ScheduledReturn::dueAt));
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> wakeUp;
+
+    public ReturnScheduler(DatabaseManager dbManager, Consumer<List<String>> onCarsReturned) {
+        this(dbManager, onCarsReturned, Clock.systemDefaultZone());
+    }
+
+    public ReturnScheduler(DatabaseManager dbManager, Consumer<List<String>> onCarsReturned, Clock clock) {
+        this.dbManager = dbManager;
+        this.onCarsReturned = onCarsReturned;
+        this.clock = clock;
+    }
+
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "return-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        queue.clear();
+        executor.execute(() -> {
+            List<Reservation> upcoming = dbManager.getUpcomingReservations();
+            synchronized (this) {
+                for (Reservation reservation : upcoming) {
+                    enqueue(reservation);
+                }
+            }
+            processDueReturns();
+        });
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+            wakeUp = null;
+        }
+        queue.clear();
+    }
+
+    public synchronized void schedule(Reservation reservation) {
+        if (executor == null || !"Upcoming".equals(reservation.getStatus())) {
+            return;
+        }
+        enqueue(reservation);
+        rescheduleWakeUp();
+    }
+
+    public synchronized void cancel(long reservationId) {
+        if (queue.removeIf(r -> r.reservationId() == reservationId)) {
+            rescheduleWakeUp();
+        }
+    }
+
+    // Drops every pending return of customerName, or of all customers when null
+    public synchronized void cancelCustomer(String customerName) {
+        if (queue.removeIf(r -> customerName == null || r.customerName().equals(customerName))) {
+            rescheduleWakeUp();
+        }
+    }
+
+    // Due at the start of the day the car is free again, so a same-day rental runs through its day
+    private void enqueue(Reservation reservation) {
+        LocalDate startDate = reservation.getActualStartDate();
+        LocalDate endDate = reservation.getActualEndDate();
+        if (startDate == null || endDate == null) {
+            return;
+        }
+        Instant dueAt = AvailabilityIndex.releaseDay(startDate, endDate).atStartOfDay(clock.getZone()).toInstant();
+        queue.add(new ScheduledReturn(reservation.getId(), reservation.getCarName(), reservation.getCustomerName(),
+                dueAt));
+    }
+
+    private void processDueReturns() {
+        List<ScheduledReturn> due = new ArrayList<>();
+        synchronized (this) {
+            Instant now = clock.instant();
+            while (!queue.isEmpty() && !queue.peek().dueAt().isAfter(now)) {
+                due.add(queue.poll());
+            }
+        }
+
+        List<String> returnedCars = new ArrayList<>();
+        for (ScheduledReturn scheduledReturn : due) {
+            if (dbManager.completeReservation(scheduledReturn.reservationId())) {
+                returnedCars.add(scheduledReturn.carName());
+            }
+        }
+        if (!returnedCars.isEmpty()) {
+            onCarsReturned.accept(returnedCars);
+        }
+
+        synchronized (this) {
+            rescheduleWakeUp();
+        }
+    }
+
+    private void rescheduleWakeUp() {
+        if (executor == null) {
+            return;
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+            wakeUp = null;
+        }
+        if (queue.isEmpty()) {
+            return;
+        }
+        long delay = queue.peek().dueAt().toEpochMilli() - clock.millis();
+        delay = Math.max(0, Math.min(delay, MAX_SLEEP_MILLIS));
+        wakeUp = executor.schedule(this::processDueReturns, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private record ScheduledReturn(long reservationId, String carName, String customerName, Instant dueAt) {
+    }
+}
@@ -0,0 +1,209 @@
+package rentwheels;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+// Upgrades rentwheels.db one migration per transaction, tracked in PRAGMA user_version; only append steps
+public class SchemaMigrator {
+
+    @FunctionalInterface
+    private interface Step {
+        void apply(Statement stmt) throws SQLException;
+    }
+
+    private record Migration(int version, String description, Step step) {
+    }
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "create base tables", SchemaMigrator::createBaseTables),
+            new Migration(2, "add lookup and sort indexes", SchemaMigrator::addLookupIndexes),
+            new Migration(3, "add per-year invoice sequences", SchemaMigrator::addInvoiceSequences),
+            new Migration(4, "store money as integer paise", SchemaMigrator::convertMoneyToPaise),
+            new Migration(5, "link rows by integer id", SchemaMigrator::linkRowsById),
+            new Migration(6, "add temporary car holds", SchemaMigrator::addCarHolds),
+            new Migration(7, "clear booked car statuses", SchemaMigrator::clearBookedStatuses));
+
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+    }
+
+    // Applies every pending migration and returns the resulting schema version
+    public int migrate(Connection connection) throws SQLException {
+        int version = currentVersion(connection);
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version() <= version) {
+                continue;
+            }
+            connection.setAutoCommit(false);
+            try (Statement stmt = connection.createStatement()) {
+                migration.step().apply(stmt);
+                stmt.execute("PRAGMA user_version = " + migration.version());
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw new SQLException("Migration " + migration.version() + " (" + migration.description()
+                        + ") failed", e);
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            version = migration.version();
+            System.out.println("✓ Applied migration " + version + ": " + migration.description());
+        }
+        return version;
+    }
+
+    private int currentVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // Databases created before migrations existed already have these tables, hence IF NOT EXISTS
+    private static void createBaseTables(Statement stmt) throws SQLException {
+        stmt.execute("""
+                CREATE TABLE IF NOT EXISTS users (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    name TEXT NOT NULL,
+                    email TEXT NOT NULL UNIQUE,
+                    username TEXT NOT NULL UNIQUE,
+                    password TEXT NOT NULL,
+                    created_date DATE DEFAULT CURRENT_DATE
+                )
+            """);
+
+        stmt.execute("""
+                CREATE TABLE IF NOT EXISTS cars (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    name TEXT NOT NULL,
+                    price TEXT NOT NULL,
+                    seats TEXT NOT NULL,
+                    transmission TEXT NOT NULL,
+                    fuel_type TEXT NOT NULL,
+                    status TEXT NOT NULL DEFAULT 'Available',
+                    image_path TEXT,
+                    created_date DATE DEFAULT CURRENT_DATE
+                )
+            """);
+
+        stmt.execute("""
+                CREATE TABLE IF NOT EXISTS reservations (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    car_name TEXT NOT NULL,
+                    customer_name TEXT NOT NULL,
+                    start_date DATE NOT NULL,
+                    end_date DATE NOT NULL,
+                    total_cost TEXT NOT NULL,
+                    status TEXT NOT NULL DEFAULT 'Upcoming',
+                    created_date DATE DEFAULT CURRENT_DATE
+                )
+            """);
+
+        stmt.execute("""
+                CREATE TABLE IF NOT EXISTS invoices (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    invoice_id TEXT NOT NULL UNIQUE,
+                    car_name TEXT NOT NULL,
+                    rental_period TEXT NOT NULL,
+                    total TEXT NOT NULL,
+                    issue_date TEXT NOT NULL,
+                    customer_name TEXT NOT NULL,
+                    payment_method TEXT,
+                    created_date DATE DEFAULT CURRENT_DATE
+                )
+            """);
+    }
+
+    // users.username already has the implicit index of its UNIQUE constraint
+    private static void addLookupIndexes(Statement stmt) throws SQLException {
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_users_created ON users (created_date)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_cars_name ON cars (name)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_cars_created ON cars (created_date)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_reservations_customer_created ON reservations (customer_name, created_date)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_reservations_car_customer ON reservations (car_name, customer_name)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_reservations_status_end ON reservations (status, end_date)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_reservations_created ON reservations (created_date)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_invoices_customer_created ON invoices (customer_name, created_date)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_invoices_car_customer_created ON invoices (car_name, customer_name, created_date)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_invoices_created ON invoices (created_date)");
+    }
+
+    // Seeds each year's counter past the highest INV-YYYY-NNN number already issued
+    private static void addInvoiceSequences(Statement stmt) throws SQLException {
+        stmt.execute("""
+                CREATE TABLE IF NOT EXISTS invoice_sequences (
+                    year INTEGER PRIMARY KEY,
+                    next_value INTEGER NOT NULL
+                )
+            """);
+        stmt.execute("""
+                INSERT OR REPLACE INTO invoice_sequences (year, next_value)
+                SELECT CAST(substr(invoice_id, 5, 4) AS INTEGER), MAX(CAST(substr(invoice_id, 10) AS INTEGER)) + 1
+                FROM invoices
+                WHERE invoice_id GLOB 'INV-[0-9][0-9][0-9][0-9]-[0-9]*'
+                GROUP BY substr(invoice_id, 5, 4)
+            """);
+    }
+
+    // Replaces the "₹10020.00" TEXT columns with INTEGER paise columns, converting existing rows
+    private static void convertMoneyToPaise(Statement stmt) throws SQLException {
+        convertColumnToPaise(stmt, "cars", "price", "price_paise");
+        convertColumnToPaise(stmt, "reservations", "total_cost", "total_cost_paise");
+        convertColumnToPaise(stmt, "invoices", "total", "total_paise");
+    }
+
+    private static void convertColumnToPaise(Statement stmt, String table, String textColumn, String paiseColumn)
+            throws SQLException {
+        stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + paiseColumn + " INTEGER NOT NULL DEFAULT 0");
+        stmt.execute("UPDATE " + table + " SET " + paiseColumn + " = CAST(ROUND(CAST(TRIM(REPLACE(REPLACE("
+                + textColumn + ", '₹', ''), ',', '')) AS REAL) * 100) AS INTEGER)");
+        stmt.execute("ALTER TABLE " + table + " DROP COLUMN " + textColumn);
+    }
+
+    // Adds reservations.car_id and invoices.reservation_id and backfills them from the name
+    // columns. A reservation takes the newest car of its name; an invoice takes the newest
+    // reservation of the same car and customer created no later than itself, which is exact for
+    // bookings made through bookCar and best effort for older hand-entered rows. The names stay
+    // as the display snapshot, so deleting a car or reservation only clears the link.
+    private static void linkRowsById(Statement stmt) throws SQLException {
+        stmt.execute("ALTER TABLE reservations ADD COLUMN car_id INTEGER REFERENCES cars (id) ON DELETE SET NULL");
+        stmt.execute("UPDATE reservations SET car_id = (SELECT MAX(id) FROM cars WHERE cars.name = reservations.car_name)");
+        stmt.execute("ALTER TABLE invoices ADD COLUMN reservation_id INTEGER REFERENCES reservations (id) ON DELETE SET NULL");
+        stmt.execute("""
+                UPDATE invoices SET reservation_id = (
+                    SELECT MAX(r.id) FROM reservations r
+                    WHERE r.car_name = invoices.car_name
+                      AND r.customer_name = invoices.customer_name
+                      AND r.created_date <= invoices.created_date)
+            """);
+        stmt.execute("DROP INDEX IF EXISTS idx_reservations_car_customer");
+        stmt.execute("DROP INDEX IF EXISTS idx_invoices_car_customer_created");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_reservations_car_status_end ON reservations (car_id, status, end_date)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_invoices_reservation ON invoices (reservation_id)");
+    }
+
+    // Holds keep a car's dates for a customer while they pay. expires_at is epoch millis; a
+    // row past it no longer holds anything and is deleted when found.
+    private static void addCarHolds(Statement stmt) throws SQLException {
+        stmt.execute("""
+                CREATE TABLE IF NOT EXISTS holds (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    car_id INTEGER NOT NULL REFERENCES cars (id) ON DELETE CASCADE,
+                    customer_name TEXT NOT NULL,
+                    start_date DATE NOT NULL,
+                    end_date DATE NOT NULL,
+                    expires_at INTEGER NOT NULL
+                )
+            """);
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_holds_car_expires ON holds (car_id, expires_at)");
+    }
+
+    // Bookings are tracked by the reservations themselves now, and cars.status only records an
+    // admin taking a car out of service, so a leftover 'Booked' would never be cleared
+    private static void clearBookedStatuses(Statement stmt) throws SQLException {
+        stmt.execute("UPDATE cars SET status = 'Available' WHERE status = 'Booked'");
+    }
+}
@@ -0,0 +1,67 @@
+package rentwheels;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// SQLite tuning presets for pooled connections, chosen with -Drentwheels.db.profile=durable|balanced|fast
+public enum StorageProfile {
+    DURABLE("WAL", "FULL", -8_000, 0, "DEFAULT"),
+    BALANCED("WAL", "NORMAL", -32_000, 64L * 1024 * 1024, "MEMORY"),
+    FAST("WAL", "OFF", -128_000, 256L * 1024 * 1024, "MEMORY");
+
+    private final String journalMode;
+    private final String synchronous;
+    // Negative values are KiB, as understood by PRAGMA cache_size
+    private final int cacheSize;
+    private final long mmapSize;
+    private final String tempStore;
+
+    StorageProfile(String journalMode, String synchronous, int cacheSize, long mmapSize, String tempStore) {
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+        this.tempStore = tempStore;
+    }
+
+    public static StorageProfile fromSystemProperty() {
+        String name = System.getProperty("rentwheels.db.profile", BALANCED.name());
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown storage profile '" + name + "', using " + BALANCED);
+            return BALANCED;
+        }
+    }
+
+    // journal_mode is stored in the database file, so only the writer needs to set it
+    public void apply(Connection connection, boolean writer) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            if (writer) {
+                stmt.execute("PRAGMA journal_mode = " + journalMode);
+            }
+            stmt.execute("PRAGMA synchronous = " + synchronous);
+            stmt.execute("PRAGMA cache_size = " + cacheSize);
+            stmt.execute("PRAGMA mmap_size = " + mmapSize);
+            stmt.execute("PRAGMA temp_store = " + tempStore);
+        }
+    }
+
+    // Reads the settings back from SQLite, which may have clamped or rejected some of them
+    public String describeEffective(Connection connection) throws SQLException {
+        return name() + ": journal_mode=" + pragma(connection, "journal_mode")
+                + ", synchronous=" + pragma(connection, "synchronous")
+                + ", cache_size=" + pragma(connection, "cache_size")
+                + ", mmap_size=" + pragma(connection, "mmap_size")
+                + ", temp_store=" + pragma(connection, "temp_store");
+    }
+
+    private static String pragma(Connection connection, String name) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("PRAGMA " + name)) {
+            return rs.next() ? rs.getString(1) : "?";
+        }
+    }
+}
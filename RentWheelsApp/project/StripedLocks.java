@@ -0,0 +1,32 @@
+package rentwheels;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Fixed power-of-two set of locks shared out by a long key, such as a car id
+public final class StripedLocks {
+    private final ReentrantLock[] locks;
+
+    public StripedLocks(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes must be at least 1");
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public ReentrantLock forKey(long key) {
+        // Spread the bits so sequential ids do not cluster on neighbouring stripes
+        long h = key * 0x9E3779B97F4A7C15L;
+        return locks[(int) (h >>> 32) & (locks.length - 1)];
+    }
+
+    public int getStripeCount() {
+        return locks.length;
+    }
+}
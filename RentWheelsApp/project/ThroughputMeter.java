@@ -0,0 +1,52 @@
+package rentwheels;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts events and reports their per-second rate over a short lock-free ring of seconds
+public final class ThroughputMeter {
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    private final AtomicLongArray slots;
+    private final LongAdder total = new LongAdder();
+
+    public ThroughputMeter(int windowSeconds) {
+        if (windowSeconds < 1) {
+            throw new IllegalArgumentException("windowSeconds must be at least 1");
+        }
+        // One extra slot for the second in progress
+        slots = new AtomicLongArray(windowSeconds + 1);
+    }
+
+    public void record() {
+        long second = System.currentTimeMillis() / 1000;
+        long stamp = second & COUNT_MASK;
+        int i = (int) (second % slots.length());
+        while (true) {
+            long current = slots.get(i);
+            long next = (current >>> 32) == stamp ? current + 1 : stamp << 32 | 1;
+            if (slots.compareAndSet(i, current, next)) {
+                break;
+            }
+        }
+        total.increment();
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    // Events per second over the last seconds whole seconds, at most the window size
+    public double getRate(int seconds) {
+        int window = Math.max(1, Math.min(seconds, slots.length() - 1));
+        long now = System.currentTimeMillis() / 1000;
+        long events = 0;
+        for (long second = now - window; second < now; second++) {
+            long slot = slots.get((int) (second % slots.length()));
+            if ((slot >>> 32) == (second & COUNT_MASK)) {
+                events += slot & COUNT_MASK;
+            }
+        }
+        return (double) events / window;
+    }
+}
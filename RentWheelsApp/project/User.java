@@ -1,3 +1,5 @@
+package rentwheels;
+
 public class User {
     private String name;
     private String email;
@@ -0,0 +1,87 @@
+package rentwheels;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvailabilityIndexTest {
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 10);
+
+    private final AvailabilityIndex index = new AvailabilityIndex();
+
+    @Test
+    void bookingHoldsItsStartUpToButNotIncludingItsEnd() {
+        index.add(1, 1, DAY, DAY.plusDays(3));
+
+        assertFalse(index.isFree(1, DAY, DAY.plusDays(1)));
+        assertFalse(index.isFree(1, DAY.plusDays(2), DAY.plusDays(5)));
+        assertFalse(index.isFree(1, DAY.minusDays(2), DAY.plusDays(1)));
+        assertTrue(index.isFree(1, DAY.plusDays(3), DAY.plusDays(5)));
+        assertTrue(index.isFree(1, DAY.minusDays(2), DAY));
+        assertTrue(index.isFree(2, DAY, DAY.plusDays(3)));
+    }
+
+    @Test
+    void sameDayBookingHoldsOneDay() {
+        index.add(1, 1, DAY, DAY);
+
+        assertTrue(index.isBooked(1, DAY));
+        assertFalse(index.isBooked(1, DAY.plusDays(1)));
+        assertFalse(index.isFree(1, DAY, DAY));
+        assertTrue(index.isFree(1, DAY.plusDays(1), DAY.plusDays(1)));
+    }
+
+    @Test
+    void releaseDayIsTheEndOrTheDayAfterASameDayStart() {
+        assertEquals(DAY.plusDays(3), AvailabilityIndex.releaseDay(DAY, DAY.plusDays(3)));
+        assertEquals(DAY.plusDays(1), AvailabilityIndex.releaseDay(DAY, DAY));
+        assertEquals(DAY.plusDays(1), AvailabilityIndex.releaseDay(DAY, DAY.minusDays(1)));
+    }
+
+    @Test
+    void longBookingStillBlocksAfterLaterShortOnes() {
+        // Legacy data may overlap; a long first booking must not be hidden by shorter ones after it
+        index.replaceCar(1, List.of(
+                reservation(1, DAY, DAY.plusDays(20)),
+                reservation(2, DAY.plusDays(2), DAY.plusDays(3)),
+                reservation(3, DAY.plusDays(5), DAY.plusDays(6))));
+
+        assertFalse(index.isFree(1, DAY.plusDays(10), DAY.plusDays(11)));
+        assertTrue(index.isFree(1, DAY.plusDays(20), DAY.plusDays(21)));
+    }
+
+    @Test
+    void replaceAndRemoveCar() {
+        index.add(1, 1, DAY, DAY.plusDays(2));
+        index.replaceCar(1, List.of(reservation(2, DAY.plusDays(5), DAY.plusDays(6))));
+        assertTrue(index.isFree(1, DAY, DAY.plusDays(2)));
+        assertFalse(index.isFree(1, DAY.plusDays(5), DAY.plusDays(6)));
+
+        index.removeCar(1);
+        assertTrue(index.isFree(1, DAY.plusDays(5), DAY.plusDays(6)));
+    }
+
+    @Test
+    void findsNextBookingAndFirstFreeDay() {
+        index.add(1, 1, DAY, DAY.plusDays(2));
+        index.add(1, 2, DAY.plusDays(2), DAY.plusDays(4));
+        index.add(1, 3, DAY.plusDays(6), DAY.plusDays(7));
+
+        assertEquals(DAY.plusDays(4), index.firstFreeDay(1, DAY));
+        assertEquals(DAY.plusDays(5), index.firstFreeDay(1, DAY.plusDays(5)));
+        assertEquals(DAY.plusDays(7), index.firstFreeDay(1, DAY.plusDays(6)));
+        assertEquals(DAY.plusDays(6), index.nextBookingStart(1, DAY.plusDays(3)));
+        assertNull(index.nextBookingStart(1, DAY.plusDays(7)));
+        assertEquals(DAY, index.firstFreeDay(2, DAY));
+    }
+
+    private static Reservation reservation(long id, LocalDate start, LocalDate end) {
+        return new Reservation(id, 1, "Car", start, end, 100_000, "Upcoming", "Customer");
+    }
+}
@@ -0,0 +1,128 @@
+package rentwheels;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingServiceTest {
+    private static final LocalDate DAY = LocalDate.of(2030, 4, 1);
+
+    @TempDir
+    static Path dir;
+    private static DatabaseManager db;
+    private static BookingService service;
+
+    @BeforeAll
+    static void open() {
+        db = TestDatabase.open(dir);
+        service = new BookingService(db);
+    }
+
+    @AfterAll
+    static void close() {
+        db.closeConnection();
+    }
+
+    @Test
+    void overlappingBookingOfTheSameCarConflicts() {
+        Car car = newCar("Overlap");
+        Car other = newCar("Other");
+
+        assertEquals(BookingResult.Status.BOOKED, book(car, "Asha", DAY, DAY.plusDays(3)).getStatus());
+        assertEquals(BookingResult.Status.CONFLICT, book(car, "Ravi", DAY.plusDays(2), DAY.plusDays(4)).getStatus());
+        assertEquals(BookingResult.Status.CONFLICT, book(car, "Ravi", DAY.minusDays(1), DAY.plusDays(5)).getStatus());
+        assertEquals(BookingResult.Status.BOOKED, book(other, "Ravi", DAY.plusDays(2), DAY.plusDays(4)).getStatus());
+        assertEquals(1, db.getUserReservations("Ravi").size());
+    }
+
+    @Test
+    void backToBackBookingsAreAllowed() {
+        Car car = newCar("Back to back");
+
+        assertEquals(BookingResult.Status.BOOKED, book(car, "Asha", DAY, DAY.plusDays(2)).getStatus());
+        assertEquals(BookingResult.Status.BOOKED, book(car, "Ravi", DAY.plusDays(2), DAY.plusDays(4)).getStatus());
+        assertEquals(BookingResult.Status.BOOKED, book(car, "Meera", DAY.minusDays(2), DAY).getStatus());
+        // A same-day rental takes its whole day
+        assertEquals(BookingResult.Status.BOOKED, book(car, "Kiran", DAY.plusDays(5), DAY.plusDays(5)).getStatus());
+        assertEquals(BookingResult.Status.CONFLICT, book(car, "Dev", DAY.plusDays(5), DAY.plusDays(6)).getStatus());
+    }
+
+    @Test
+    void outOfServiceCarCannotBeBooked() {
+        Car car = newCar("Out of service");
+        assertTrue(db.updateCarStatus(car.getId(), "Unavailable"));
+
+        BookingResult result = book(car, "Asha", DAY, DAY.plusDays(1));
+        assertEquals(BookingResult.Status.CONFLICT, result.getStatus());
+        assertEquals("Out of service is out of service.", result.getMessage());
+    }
+
+    @Test
+    void datesHeldByAnotherCustomerConflict() {
+        Car car = newCar("Held");
+        assertNotNull(service.hold(car, "Asha", DAY, DAY.plusDays(2)));
+
+        assertEquals(BookingResult.Status.CONFLICT, book(car, "Ravi", DAY.plusDays(1), DAY.plusDays(3)).getStatus());
+        assertEquals(BookingResult.Status.BOOKED, book(car, "Asha", DAY, DAY.plusDays(2)).getStatus());
+    }
+
+    @Test
+    void invalidDatesFail() {
+        Car car = newCar("Invalid dates");
+
+        assertEquals(BookingResult.Status.FAILED, book(car, "Asha", DAY.plusDays(2), DAY).getStatus());
+        assertEquals(BookingResult.Status.FAILED, book(car, "Asha", LocalDate.now().minusDays(1), DAY).getStatus());
+    }
+
+    @Test
+    void concurrentBookingsOfTheSameDatesBookOnce() throws Exception {
+        Car car = newCar("Contended");
+        int terminals = 8;
+        List<Callable<BookingResult>> attempts = new ArrayList<>();
+        for (int i = 0; i < terminals; i++) {
+            String customer = "Terminal " + i;
+            attempts.add(() -> book(car, customer, DAY, DAY.plusDays(2)));
+        }
+
+        int booked = 0;
+        int conflicts = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(terminals);
+        try {
+            for (Future<BookingResult> result : executor.invokeAll(attempts)) {
+                switch (result.get().getStatus()) {
+                    case BOOKED -> booked++;
+                    case CONFLICT -> conflicts++;
+                    case FAILED -> throw new AssertionError(result.get().getMessage());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, booked);
+        assertEquals(terminals - 1, conflicts);
+    }
+
+    private static BookingResult book(Car car, String customerName, LocalDate start, LocalDate end) {
+        return service.book(car, customerName, start, end, BookingService.DEFAULT_PAYMENT_METHOD);
+    }
+
+    private static Car newCar(String name) {
+        Car car = new Car(name, 500_000, "5 Seats", "Automatic", "Petrol", "Available", "default_car.jpg");
+        assertTrue(db.insertCar(car));
+        return car;
+    }
+}
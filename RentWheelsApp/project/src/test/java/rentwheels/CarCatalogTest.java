@@ -0,0 +1,82 @@
+package rentwheels;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CarCatalogTest {
+    private static final LocalDate DAY = LocalDate.of(2030, 5, 10);
+
+    private AvailabilityIndex availability;
+    private CarCatalog catalog;
+
+    @BeforeEach
+    void fleet() {
+        availability = new AvailabilityIndex();
+        // Newest first, as getAllCars() returns the fleet
+        catalog = new CarCatalog(List.of(
+                car(4, "Porsche 911", 2_058_000, "2 Seats", "Automatic", "Petrol", "Available"),
+                car(3, "Ford Mustang", 835_000, "4 Seats", "Manual", "Petrol", "Available"),
+                car(2, "Tesla Model S", 1_002_000, "5 Seats", "Automatic", "Electric", "Unavailable"),
+                car(1, "BYD Seal", 684_500, "5 Seats", "Automatic", "Electric", "Available")), availability);
+    }
+
+    @Test
+    void emptyQueryReturnsEveryCarNewestFirst() {
+        assertEquals(List.of(4L, 3L, 2L, 1L), ids(catalog.filter(new CarQuery(null, null, null, null, null))));
+    }
+
+    @Test
+    void criteriaAreCombined() {
+        assertEquals(List.of(2L, 1L), ids(catalog.filter(new CarQuery(null, 5, "Automatic", "Electric", null))));
+        assertEquals(List.of(1L), ids(catalog.filter(new CarQuery(null, 5, null, "Electric", 700_000L))));
+        assertEquals(List.of(3L), ids(catalog.filter(new CarQuery("MUST", null, null, null, null))));
+        assertEquals(List.of(), ids(catalog.filter(new CarQuery(null, 7, null, null, null))));
+        assertEquals(List.of(), ids(catalog.filter(new CarQuery(null, null, "CVT", null, null))));
+    }
+
+    @Test
+    void dateRangeSkipsBookedAndOutOfServiceCars() {
+        availability.add(3, 100, DAY, DAY.plusDays(2));
+
+        CarQuery during = new CarQuery(null, null, null, null, null, DAY.plusDays(1), DAY.plusDays(3));
+        assertEquals(List.of(4L, 1L), ids(catalog.filter(during)));
+
+        // The car is free again on the end date of its booking
+        CarQuery after = new CarQuery(null, null, null, null, null, DAY.plusDays(2), DAY.plusDays(4));
+        assertEquals(List.of(4L, 3L, 1L), ids(catalog.filter(after)));
+    }
+
+    @Test
+    void upsertAndRemovePatchTheCatalog() {
+        catalog.upsert(car(3, "Ford Mustang", 835_000, "4 Seats", "Automatic", "Hybrid", "Available"));
+        catalog.upsert(car(5, "Mini Cooper S", 899_800, "4 Seats", "Manual", "Petrol", "Available"));
+        catalog.remove(4);
+
+        assertEquals(4, catalog.size());
+        assertEquals(List.of(5L, 3L, 2L, 1L), ids(catalog.filter(new CarQuery(null, null, null, null, null))));
+        assertEquals(List.of(3L), ids(catalog.filter(new CarQuery(null, null, null, "Hybrid", null))));
+        assertEquals(List.of(5L), ids(catalog.filter(new CarQuery(null, null, "Manual", null, null))));
+    }
+
+    @Test
+    void parsesLeadingSeatCount() {
+        assertEquals(5, CarCatalog.parseSeats("5 Seats"));
+        assertEquals(7, CarCatalog.parseSeats(" 7"));
+        assertEquals(0, CarCatalog.parseSeats("Seats"));
+        assertEquals(0, CarCatalog.parseSeats(null));
+    }
+
+    private static Car car(long id, String name, long price, String seats, String transmission, String fuel,
+            String status) {
+        return new Car(id, name, price, seats, transmission, fuel, status, "default_car.jpg");
+    }
+
+    private static List<Long> ids(List<Car> cars) {
+        return cars.stream().map(Car::getId).toList();
+    }
+}
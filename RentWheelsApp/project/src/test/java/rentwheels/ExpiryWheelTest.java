@@ -0,0 +1,84 @@
+package rentwheels;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiryWheelTest {
+    private static final long START = 1_000_000;
+
+    @Test
+    void itemsExpireOnTheFirstTickAtOrAfterTheirDeadline() {
+        ExpiryWheel<String> wheel = new ExpiryWheel<>(8, 100, START);
+        wheel.add("a", START + 250);
+        wheel.add("b", START + 300);
+        wheel.add("c", START + 301);
+
+        assertEquals(List.of(), wheel.expire(START + 200));
+        assertEquals(List.of(), wheel.expire(START + 299));
+        assertEquals(List.of("a", "b"), wheel.expire(START + 300).stream().sorted().toList());
+        assertEquals(List.of(), wheel.expire(START + 399));
+        assertEquals(List.of("c"), wheel.expire(START + 400));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    void deadlinesBeyondOneTurnWaitForTheirRound() {
+        ExpiryWheel<String> wheel = new ExpiryWheel<>(4, 100, START);
+        wheel.add("soon", START + 100);
+        // Lands in the same slot as "soon" one turn of the wheel later
+        wheel.add("later", START + 500);
+
+        assertEquals(List.of("soon"), wheel.expire(START + 100));
+        assertEquals(List.of(), wheel.expire(START + 400));
+        assertEquals(List.of("later"), wheel.expire(START + 500));
+    }
+
+    @Test
+    void longPauseExpiresEverythingDueOnce() {
+        ExpiryWheel<String> wheel = new ExpiryWheel<>(4, 100, START);
+        wheel.add("a", START + 100);
+        wheel.add("b", START + 350);
+        wheel.add("c", START + 10_000);
+
+        assertEquals(List.of("a", "b"), wheel.expire(START + 5_000).stream().sorted().toList());
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("c"), wheel.expire(START + 10_000));
+    }
+
+    @Test
+    void overdueItemsComeOutOnTheNextTick() {
+        ExpiryWheel<String> wheel = new ExpiryWheel<>(8, 100, START);
+        wheel.expire(START + 300);
+        wheel.add("late", START + 50);
+
+        assertEquals(START + 400, wheel.nextTickMillis());
+        assertEquals(List.of("late"), wheel.expire(START + 400));
+    }
+
+    @Test
+    void cancelRemovesOnlyThatItem() {
+        ExpiryWheel<String> wheel = new ExpiryWheel<>(8, 100, START);
+        wheel.expire(START + 300);
+        wheel.add("kept", START + 500);
+        wheel.add("cancelled", START + 500);
+        wheel.add("overdue", START);
+
+        assertTrue(wheel.cancel("cancelled", START + 500));
+        assertTrue(wheel.cancel("overdue", START));
+        assertFalse(wheel.cancel("cancelled", START + 500));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("kept"), wheel.expire(START + 500));
+    }
+
+    @Test
+    void rejectsEmptyWheel() {
+        assertThrows(IllegalArgumentException.class, () -> new ExpiryWheel<String>(0, 100, START));
+        assertThrows(IllegalArgumentException.class, () -> new ExpiryWheel<String>(8, 0, START));
+    }
+}
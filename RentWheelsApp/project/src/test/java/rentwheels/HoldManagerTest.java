@@ -0,0 +1,142 @@
+package rentwheels;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HoldManagerTest {
+    private static final LocalDate DAY = LocalDate.of(2030, 3, 1);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2030-02-01T10:00:00Z"));
+    private final List<CarHold> expired = new CopyOnWriteArrayList<>();
+    private final HoldManager holds = new HoldManager(expired::add, clock);
+
+    @AfterEach
+    void shutdown() {
+        holds.shutdown();
+    }
+
+    @Test
+    void overlappingHoldByAnotherCustomerIsRefused() {
+        assertTrue(holds.tryPlace(hold(1, "Asha", DAY, DAY.plusDays(3))));
+
+        assertFalse(holds.tryPlace(hold(1, "Ravi", DAY.plusDays(2), DAY.plusDays(4))));
+        assertTrue(holds.tryPlace(hold(1, "Ravi", DAY.plusDays(3), DAY.plusDays(4))));
+        assertTrue(holds.tryPlace(hold(2, "Ravi", DAY, DAY.plusDays(3))));
+        // A customer may hold overlapping dates again, e.g. after changing their mind
+        assertTrue(holds.tryPlace(hold(1, "Asha", DAY.plusDays(1), DAY.plusDays(2))));
+    }
+
+    @Test
+    void isHeldIgnoresTheCustomerThemselves() {
+        holds.tryPlace(hold(1, "Asha", DAY, DAY));
+
+        assertTrue(holds.isHeld(1, DAY, DAY.plusDays(1), "Ravi"));
+        assertFalse(holds.isHeld(1, DAY, DAY.plusDays(1), "Asha"));
+        assertFalse(holds.isHeld(1, DAY.plusDays(1), DAY.plusDays(2), "Ravi"));
+    }
+
+    @Test
+    void releaseFreesTheDates() {
+        CarHold hold = hold(1, "Asha", DAY, DAY.plusDays(2));
+        holds.tryPlace(hold);
+
+        assertTrue(holds.release(hold));
+        assertFalse(holds.release(hold));
+        assertFalse(holds.isHeld(1, DAY, DAY.plusDays(2), "Ravi"));
+        assertTrue(holds.tryPlace(hold(1, "Ravi", DAY, DAY.plusDays(2))));
+    }
+
+    @Test
+    void releaseCustomerDropsOnlyTheirHolds() {
+        holds.tryPlace(hold(1, "Asha", DAY, DAY.plusDays(1)));
+        holds.tryPlace(hold(1, "Asha", DAY.plusDays(5), DAY.plusDays(6)));
+        holds.tryPlace(hold(1, "Ravi", DAY.plusDays(2), DAY.plusDays(3)));
+
+        assertEquals(2, holds.releaseCustomer(1, "Asha").size());
+        assertFalse(holds.isHeld(1, DAY, DAY.plusDays(1), "Someone"));
+        assertFalse(holds.isHeld(1, DAY.plusDays(5), DAY.plusDays(6), "Someone"));
+        assertTrue(holds.isHeld(1, DAY.plusDays(2), DAY.plusDays(3), "Someone"));
+    }
+
+    @Test
+    void lapsedHoldStopsBlockingBeforeTheWheelReportsIt() {
+        holds.tryPlace(hold(1, "Asha", DAY, DAY.plusDays(2)));
+        clock.advance(Duration.ofMinutes(11));
+
+        assertFalse(holds.isHeld(1, DAY, DAY.plusDays(2), "Ravi"));
+        assertTrue(holds.tryPlace(hold(1, "Ravi", DAY, DAY.plusDays(2))));
+    }
+
+    @Test
+    void expiredHoldIsReported() throws InterruptedException {
+        CountDownLatch reported = new CountDownLatch(1);
+        HoldManager manager = new HoldManager(hold -> {
+            expired.add(hold);
+            reported.countDown();
+        }, clock);
+        try {
+            CarHold hold = hold(1, "Asha", DAY, DAY.plusDays(2));
+            manager.tryPlace(hold);
+            clock.advance(Duration.ofMinutes(11));
+
+            assertTrue(reported.await(10, TimeUnit.SECONDS));
+            assertEquals(List.of(hold), expired);
+            assertFalse(manager.release(hold));
+            assertEquals("cars=0, holds=0, pendingExpiries=0", manager.getStats());
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    private CarHold hold(long carId, String customerName, LocalDate start, LocalDate end) {
+        return new CarHold(carId, customerName, start, end, clock.instant().plus(Duration.ofMinutes(10)));
+    }
+
+    private static final class MutableClock extends Clock {
+        private final AtomicLong millis;
+
+        MutableClock(Instant start) {
+            this.millis = new AtomicLong(start.toEpochMilli());
+        }
+
+        void advance(Duration duration) {
+            millis.addAndGet(duration.toMillis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package rentwheels;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvoiceSequenceTest {
+    @TempDir
+    Path dir;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void open() throws SQLException {
+        pool = new ConnectionPool("jdbc:sqlite:" + dir.resolve("rentwheels.db"), 1, StorageProfile.BALANCED, 8);
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            new SchemaMigrator().migrate(lease.connection());
+        }
+    }
+
+    @AfterEach
+    void close() {
+        pool.close();
+    }
+
+    @Test
+    void handsOutNumbersFromReservedBlocks() throws SQLException {
+        InvoiceSequence sequence = new InvoiceSequence(3);
+
+        assertEquals(1, next(sequence, 2030));
+        assertEquals(4, storedNext(2030));
+        assertEquals(2, next(sequence, 2030));
+        assertEquals(3, next(sequence, 2030));
+        assertEquals(4, next(sequence, 2030));
+        assertEquals(7, storedNext(2030));
+    }
+
+    @Test
+    void yearsCountSeparately() throws SQLException {
+        InvoiceSequence sequence = new InvoiceSequence(10);
+
+        assertEquals(1, next(sequence, 2030));
+        assertEquals(2, next(sequence, 2030));
+        assertEquals(1, next(sequence, 2031));
+        assertEquals(3, next(sequence, 2030));
+    }
+
+    @Test
+    void restartContinuesAfterTheReservedBlock() throws SQLException {
+        InvoiceSequence first = new InvoiceSequence(5);
+        next(first, 2030);
+        next(first, 2030);
+
+        // Numbers left in an abandoned block are skipped, never reused
+        assertEquals(6, next(new InvoiceSequence(5), 2030));
+
+        first.discardBlocks();
+        assertEquals(11, next(first, 2030));
+    }
+
+    @Test
+    void formatsLikeTheBaselineInvoices() {
+        assertEquals("INV-2030-001", InvoiceSequence.format(2030, 1));
+        assertEquals("INV-2030-042", InvoiceSequence.format(2030, 42));
+        assertEquals("INV-2030-1000", InvoiceSequence.format(2030, 1000));
+    }
+
+    @Test
+    void rejectsEmptyBlocks() {
+        assertThrows(IllegalArgumentException.class, () -> new InvoiceSequence(0));
+    }
+
+    private long next(InvoiceSequence sequence, int year) throws SQLException {
+        try (ConnectionPool.Lease lease = pool.writer()) {
+            return sequence.next(lease, year);
+        }
+    }
+
+    private long storedNext(int year) throws SQLException {
+        try (ConnectionPool.Lease lease = pool.reader()) {
+            PreparedStatement select = lease.prepare("SELECT next_value FROM invoice_sequences WHERE year = ?");
+            select.setInt(1, year);
+            try (ResultSet rs = select.executeQuery()) {
+                assertTrue(rs.next());
+                return rs.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package rentwheels;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+    @Test
+    void parsesWholeAndFractionalRupees() {
+        assertEquals(500000, Money.parse("5000"));
+        assertEquals(500050, Money.parse("5,000.50"));
+        assertEquals(500050, Money.parse("₹5000.5"));
+        assertEquals(1002000, Money.parse(" ₹10,020.00 "));
+    }
+
+    @Test
+    void roundsSubPaiseHalfUp() {
+        assertEquals(1001, Money.parse("10.005"));
+        assertEquals(1000, Money.parse("10.004"));
+    }
+
+    @Test
+    void rejectsTextThatIsNotAnAmount() {
+        assertThrows(NumberFormatException.class, () -> Money.parse(null));
+        assertThrows(NumberFormatException.class, () -> Money.parse(""));
+        assertThrows(NumberFormatException.class, () -> Money.parse("ten"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("1e30"));
+    }
+
+    @Test
+    void formatsPaiseAsRupees() {
+        assertEquals("₹10020.00", Money.format(1002000));
+        assertEquals("₹0.05", Money.format(5));
+        assertEquals("-12.34", Money.toPlainString(-1234));
+    }
+
+    @Test
+    void formatAndParseRoundTrip() {
+        for (long paise : new long[] {0, 1, 99, 100, 793250, 2835200}) {
+            assertEquals(paise, Money.parse(Money.format(paise)));
+        }
+    }
+
+    @Test
+    void rupeesConvertsExactly() {
+        assertEquals(1002000, Money.rupees(10020));
+        assertThrows(ArithmeticException.class, () -> Money.rupees(Long.MAX_VALUE / 10));
+    }
+}
@@ -0,0 +1,77 @@
+package rentwheels;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReturnSchedulerTest {
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    @TempDir
+    static Path dir;
+    private static DatabaseManager db;
+
+    @BeforeAll
+    static void open() {
+        db = TestDatabase.open(dir);
+    }
+
+    @AfterAll
+    static void close() {
+        db.closeConnection();
+    }
+
+    @Test
+    void sameDayRentalStaysBookedThroughItsDay() throws InterruptedException {
+        LocalDate today = LocalDate.of(2030, 6, 1);
+        Car car = db.getAllCars().get(0);
+        Reservation sameDay = TestDatabase.upcoming(car, "Same Day", today, today);
+        Reservation ended = TestDatabase.upcoming(car, "Ended", today.minusDays(3), today.minusDays(1));
+        assertTrue(db.insertReservation(sameDay));
+        assertTrue(db.insertReservation(ended));
+
+        runUntilReturned(Clock.fixed(today.atTime(12, 0).atZone(ZONE).toInstant(), ZONE));
+
+        assertEquals("Completed", db.getReservation(ended.getId()).getStatus());
+        assertEquals("Upcoming", db.getReservation(sameDay.getId()).getStatus());
+        assertFalse(db.getAvailability().isFree(car.getId(), today, today));
+    }
+
+    @Test
+    void sameDayRentalIsReturnedTheNextMorning() throws InterruptedException {
+        LocalDate day = LocalDate.of(2030, 7, 1);
+        Car car = db.getAllCars().get(1);
+        Reservation sameDay = TestDatabase.upcoming(car, "Same Day", day, day);
+        assertTrue(db.insertReservation(sameDay));
+
+        runUntilReturned(Clock.fixed(day.plusDays(1).atStartOfDay(ZONE).toInstant(), ZONE));
+
+        assertEquals("Completed", db.getReservation(sameDay.getId()).getStatus());
+        assertTrue(db.getAvailability().isFree(car.getId(), day, day));
+    }
+
+    // Starts a scheduler at the given time and waits for its first batch of returns
+    private static void runUntilReturned(Clock clock) throws InterruptedException {
+        CountDownLatch returned = new CountDownLatch(1);
+        ReturnScheduler scheduler = new ReturnScheduler(db, (List<String> cars) -> returned.countDown(), clock);
+        scheduler.start();
+        try {
+            assertTrue(returned.await(10, TimeUnit.SECONDS), "no return was processed");
+        } finally {
+            scheduler.stop();
+        }
+    }
+}
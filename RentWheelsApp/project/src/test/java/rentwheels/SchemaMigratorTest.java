@@ -0,0 +1,175 @@
+package rentwheels;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaMigratorTest {
+    @TempDir
+    Path dir;
+    private Connection connection;
+
+    @BeforeEach
+    void open() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("rentwheels.db"));
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA foreign_keys = ON");
+        }
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void upgradesBaselineDatabaseToLatest() throws SQLException {
+        createBaselineTables();
+        insertBaselineRows();
+
+        assertEquals(SchemaMigrator.latestVersion(), new SchemaMigrator().migrate(connection));
+        assertEquals(SchemaMigrator.latestVersion(), queryLong("PRAGMA user_version"));
+
+        // Money moved to integer paise
+        assertEquals(1002000, queryLong("SELECT price_paise FROM cars WHERE name = 'Tesla Model S'"));
+        assertEquals(793250, queryLong("SELECT price_paise FROM cars WHERE name = 'BMW X5'"));
+        assertEquals(1586500, queryLong("SELECT total_cost_paise FROM reservations"));
+        assertEquals(1586500, queryLong("SELECT total_paise FROM invoices WHERE invoice_id = 'INV-2026-012'"));
+
+        // The legacy Booked status is cleared; bookings live in reservations
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM cars WHERE status = 'Booked'"));
+
+        // Rows are linked by id
+        long bmw = queryLong("SELECT id FROM cars WHERE name = 'BMW X5'");
+        long reservation = queryLong("SELECT id FROM reservations");
+        assertEquals(bmw, queryLong("SELECT car_id FROM reservations"));
+        assertEquals(reservation, queryLong("SELECT reservation_id FROM invoices WHERE invoice_id = 'INV-2026-012'"));
+
+        // Invoice counters continue after the highest number issued each year
+        assertEquals(8, queryLong("SELECT next_value FROM invoice_sequences WHERE year = 2025"));
+        assertEquals(13, queryLong("SELECT next_value FROM invoice_sequences WHERE year = 2026"));
+
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM holds"));
+    }
+
+    @Test
+    void migratingAgainChangesNothing() throws SQLException {
+        createBaselineTables();
+        insertBaselineRows();
+        new SchemaMigrator().migrate(connection);
+
+        assertEquals(SchemaMigrator.latestVersion(), new SchemaMigrator().migrate(connection));
+        assertEquals(2, queryLong("SELECT COUNT(*) FROM cars"));
+        assertEquals(13, queryLong("SELECT next_value FROM invoice_sequences WHERE year = 2026"));
+    }
+
+    @Test
+    void createsSchemaInEmptyDatabase() throws SQLException {
+        assertEquals(SchemaMigrator.latestVersion(), new SchemaMigrator().migrate(connection));
+        for (String table : new String[] {"users", "cars", "reservations", "invoices", "invoice_sequences", "holds"}) {
+            assertEquals(1, queryLong("SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = '" + table + "'"),
+                    table);
+        }
+    }
+
+    // The tables as the app created them before it had migrations
+    private void createBaselineTables() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("""
+                    CREATE TABLE users (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        name TEXT NOT NULL,
+                        email TEXT NOT NULL UNIQUE,
+                        username TEXT NOT NULL UNIQUE,
+                        password TEXT NOT NULL,
+                        created_date DATE DEFAULT CURRENT_DATE
+                    )
+                """);
+            stmt.execute("""
+                    CREATE TABLE cars (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        name TEXT NOT NULL,
+                        price TEXT NOT NULL,
+                        seats TEXT NOT NULL,
+                        transmission TEXT NOT NULL,
+                        fuel_type TEXT NOT NULL,
+                        status TEXT NOT NULL DEFAULT 'Available',
+                        image_path TEXT,
+                        created_date DATE DEFAULT CURRENT_DATE
+                    )
+                """);
+            stmt.execute("""
+                    CREATE TABLE reservations (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        car_name TEXT NOT NULL,
+                        customer_name TEXT NOT NULL,
+                        start_date DATE NOT NULL,
+                        end_date DATE NOT NULL,
+                        total_cost TEXT NOT NULL,
+                        status TEXT NOT NULL DEFAULT 'Upcoming',
+                        created_date DATE DEFAULT CURRENT_DATE
+                    )
+                """);
+            stmt.execute("""
+                    CREATE TABLE invoices (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        invoice_id TEXT NOT NULL UNIQUE,
+                        car_name TEXT NOT NULL,
+                        rental_period TEXT NOT NULL,
+                        total TEXT NOT NULL,
+                        issue_date TEXT NOT NULL,
+                        customer_name TEXT NOT NULL,
+                        payment_method TEXT,
+                        created_date DATE DEFAULT CURRENT_DATE
+                    )
+                """);
+        }
+    }
+
+    private void insertBaselineRows() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("INSERT INTO cars (name, price, seats, transmission, fuel_type, status, image_path) VALUES "
+                    + "('Tesla Model S', '₹10020.00', '5 Seats', 'Automatic', 'Electric', 'Available', 'tesla_model_s.jpg'), "
+                    + "('BMW X5', '₹7,932.50', '5 Seats', 'Automatic', 'Hybrid', 'Booked', 'bmw_x5.jpg')");
+            stmt.execute("INSERT INTO invoices (invoice_id, car_name, rental_period, total, issue_date, customer_name) VALUES "
+                    + "('INV-2025-007', 'Tesla Model S', 'old', '₹10020.00', 'December 1, 2025', 'Ravi')");
+        }
+        // The baseline bound reservation dates with setDate, as DatabaseManager still does
+        try (PreparedStatement pstmt = connection.prepareStatement("INSERT INTO reservations "
+                + "(car_name, customer_name, start_date, end_date, total_cost, status) VALUES (?, ?, ?, ?, ?, ?)")) {
+            pstmt.setString(1, "BMW X5");
+            pstmt.setString(2, "Asha");
+            pstmt.setDate(3, Date.valueOf(LocalDate.of(2026, 3, 1)));
+            pstmt.setDate(4, Date.valueOf(LocalDate.of(2026, 3, 3)));
+            pstmt.setString(5, "₹15865.00");
+            pstmt.setString(6, "Upcoming");
+            pstmt.executeUpdate();
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("INSERT INTO invoices (invoice_id, car_name, rental_period, total, issue_date, customer_name) VALUES "
+                    + "('INV-2026-012', 'BMW X5', 'March 1, 2026 - March 3, 2026', '₹15865.00', 'February 20, 2026', 'Asha')");
+        }
+        assertEquals(1, queryLong("SELECT COUNT(*) FROM reservations"));
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            assertTrue(rs.next(), sql);
+            return rs.getLong(1);
+        }
+    }
+}
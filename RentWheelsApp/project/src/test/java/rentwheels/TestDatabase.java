@@ -0,0 +1,19 @@
+package rentwheels;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+// Points the DatabaseManager singleton at a fresh file; surefire gives every test class its own JVM
+final class TestDatabase {
+    private TestDatabase() {
+    }
+
+    static DatabaseManager open(Path dir) {
+        System.setProperty("rentwheels.db.path", dir.resolve("rentwheels.db").toString());
+        return DatabaseManager.getInstance();
+    }
+
+    static Reservation upcoming(Car car, String customerName, LocalDate start, LocalDate end) {
+        return new Reservation(car.getId(), car.getName(), start, end, car.getPrice(), "Upcoming", customerName);
+    }
+}